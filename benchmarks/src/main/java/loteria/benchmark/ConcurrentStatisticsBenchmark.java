@@ -0,0 +1,108 @@
+package loteria.benchmark;
+
+import loteria.model.GameResult;
+import loteria.model.GameStatistics;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaCards;
+import loteria.model.Player;
+import loteria.model.StandardPatterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks many rooms recording finished games into one shared statistics tracker.
+ * Every benchmark thread plays the part of a room recording games in a tight loop; run with
+ * {@code -t 1}, {@code -t 8}, {@code -t 32} ... to measure scaling. {@code stripes=1} funnels
+ * every room through a single stripe, as a contended baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStatisticsBenchmark {
+
+    /** Number of stripes in the shared tracker; 0 stripes it for the machine's processors. */
+    @Param({"0", "1"})
+    public int stripes;
+
+    private GameStatistics statistics;
+    private final AtomicInteger roomIds = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        statistics = stripes == 0 ? new GameStatistics() : new GameStatistics(GameStatistics.DEFAULT_HISTORY_CAPACITY, stripes);
+    }
+
+    /**
+     * One room: its players, and results won by each of them with a room-specific call order.
+     */
+    @State(Scope.Thread)
+    public static class Room {
+
+        GameResult[] results;
+        List<List<LoteriaCard>> calledCards;
+        int next;
+
+        @Setup
+        public void setUp(ConcurrentStatisticsBenchmark shared) {
+            int room = shared.roomIds.getAndIncrement();
+            List<Player> players = List.of(new Player("Ana " + room), new Player("Beto " + room),
+                    new Player("Carla " + room), new Player("Diego " + room));
+            List<LoteriaCard> deck = LoteriaCards.getAllCards();
+            results = new GameResult[players.size()];
+            calledCards = new ArrayList<>(players.size());
+            for (int i = 0; i < players.size(); i++) {
+                int calls = 20 + (room + i) % 30;
+                results[i] = new GameResult(players.get(i), players, StandardPatterns.createFourCorners(4),
+                        calls, 60_000L + room, (long) room * players.size() + i);
+                List<LoteriaCard> called = new ArrayList<>(calls);
+                for (int c = 0; c < calls; c++) {
+                    called.add(deck.get((room * 7 + i + c) % deck.size()));
+                }
+                calledCards.add(called);
+            }
+        }
+    }
+
+    @Benchmark
+    public GameStatistics recordGame(Room room) {
+        int i = room.next;
+        statistics.recordGame(room.results[i], room.calledCards.get(i));
+        room.next = (i + 1) % room.results.length;
+        return statistics;
+    }
+
+    @Benchmark
+    @Group("recordWhileReading")
+    @GroupThreads(7)
+    public GameStatistics recordAlongsideReader(Room room) {
+        return recordGame(room);
+    }
+
+    @Benchmark
+    @Group("recordWhileReading")
+    @GroupThreads(1)
+    public Object readLeaders() {
+        List<Player> winners = statistics.getTopWinners(10);
+        List<LoteriaCard> cards = statistics.getTopCards(10);
+        return winners.size() + cards.size() > 0 ? winners : cards;
+    }
+}
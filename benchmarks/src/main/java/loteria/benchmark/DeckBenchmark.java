@@ -0,0 +1,58 @@
+package loteria.benchmark;
+
+import loteria.model.Deck;
+import loteria.model.LoteriaCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for resetting, shuffling and drawing through the deck.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public Deck reset() {
+        deck.reset();
+        return deck;
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle();
+        return deck;
+    }
+
+    @Benchmark
+    public void resetAndDrawAll(Blackhole blackhole) {
+        deck.reset();
+        while (deck.hasMoreCards()) {
+            LoteriaCard card = deck.drawCard();
+            blackhole.consume(card);
+        }
+    }
+}
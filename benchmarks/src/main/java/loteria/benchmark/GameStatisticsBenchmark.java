@@ -0,0 +1,72 @@
+package loteria.benchmark;
+
+import loteria.model.GameResult;
+import loteria.model.GameStatistics;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaCards;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import loteria.model.StandardPatterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for recording finished games into the statistics tracker.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStatisticsBenchmark {
+
+    /** Number of cards called in each recorded game. */
+    @Param({"20", "54"})
+    public int cardsPerGame;
+
+    private GameStatistics statistics;
+    private GameResult[] results;
+    private List<LoteriaCard> calledCards;
+    private long calledCardMask;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        statistics = new GameStatistics();
+        List<Player> players = List.of(new Player("Ana"), new Player("Beto"), new Player("Carla"), new Player("Diego"));
+        results = new GameResult[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            results[i] = new GameResult(players.get(i), players, StandardPatterns.createFourCorners(4),
+                    cardsPerGame, 60_000L, (long) i);
+        }
+        calledCards = LoteriaCards.getAllCards().subList(0, cardsPerGame);
+        calledCardMask = PlayerBoard.toCardMask(calledCards);
+    }
+
+    @Benchmark
+    public GameStatistics recordGame() {
+        statistics.recordGame(results[next], calledCards);
+        next = (next + 1) % results.length;
+        return statistics;
+    }
+
+    @Benchmark
+    public GameStatistics recordGameByCardMask() {
+        statistics.recordGame(results[next], calledCardMask);
+        next = (next + 1) % results.length;
+        return statistics;
+    }
+}
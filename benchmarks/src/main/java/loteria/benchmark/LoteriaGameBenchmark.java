@@ -0,0 +1,107 @@
+package loteria.benchmark;
+
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for starting a game and calling cards at increasing hall sizes.
+ * Every invocation gets a freshly built game, so each measurement covers a full game
+ * start, or a full deck of calls, without the setup cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteriaGameBenchmark {
+
+    /** Boards are dealt ten per player. */
+    private static final int BOARDS_PER_PLAYER = 10;
+
+    private static final int DECK_SIZE = 54;
+
+    /**
+     * A game with all players joined, waiting to start.
+     */
+    @State(Scope.Thread)
+    public static class NewGame {
+
+        @Param({"1", "100", "10000", "100000"})
+        public int boards;
+
+        @Param({"4"})
+        public int boardSize;
+
+        @Param({"false", "true"})
+        public boolean autoDetectWinners;
+
+        LoteriaGame game;
+        private long seed;
+
+        @Setup(Level.Invocation)
+        public void newGame() throws LoteriaException {
+            game = new LoteriaGame(Integer.MAX_VALUE, seed++);
+            game.setAutoDetectWinners(autoDetectWinners);
+            int players = (boards + BOARDS_PER_PLAYER - 1) / BOARDS_PER_PLAYER;
+            int dealt = 0;
+            for (int i = 0; i < players; i++) {
+                Player player = new Player("player" + i);
+                for (int b = 0; b < BOARDS_PER_PLAYER && dealt < boards; b++, dealt++) {
+                    player.addBoard(new PlayerBoard(boardSize, player));
+                }
+                game.addPlayer(player);
+            }
+        }
+    }
+
+    /**
+     * A game that has been started and has a full deck left to call.
+     */
+    @State(Scope.Thread)
+    public static class StartedGame extends NewGame {
+
+        @Setup(Level.Invocation)
+        public void start() throws LoteriaException {
+            game.startGame();
+        }
+    }
+
+    @Benchmark
+    public LoteriaGame startGame(NewGame state) throws LoteriaException {
+        state.game.startGame();
+        return state.game;
+    }
+
+    /**
+     * Measures one call; each invocation plays the whole deck.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DECK_SIZE)
+    public void callNextCard(StartedGame state, Blackhole blackhole) throws LoteriaException {
+        LoteriaGame game = state.game;
+        for (int i = 0; i < DECK_SIZE; i++) {
+            LoteriaCard card = game.callNextCard();
+            blackhole.consume(card);
+            blackhole.consume(game.getLastCompletions());
+        }
+    }
+}
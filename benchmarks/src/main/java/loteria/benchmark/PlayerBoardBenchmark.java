@@ -0,0 +1,89 @@
+package loteria.benchmark;
+
+import loteria.model.Deck;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaException;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import loteria.model.StandardPatterns;
+import loteria.model.WinningPattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for marking, pattern checks and generation on a single board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBoardBenchmark {
+
+    @Param({"3", "4", "5"})
+    public int boardSize;
+
+    private Deck deck;
+    private PlayerBoard board;
+    private LoteriaCard[] cards;
+    private List<WinningPattern> patterns;
+    private List<LoteriaCard> calledCards;
+    private long calledCardMask;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup
+    public void setUp() throws LoteriaException {
+        random = new SplittableRandom(42);
+        deck = new Deck(random.split());
+        board = new PlayerBoard(boardSize, new Player("bench"));
+        board.generateBoard(deck, random.split());
+        cards = deck.getAllCards().toArray(new LoteriaCard[0]);
+        patterns = StandardPatterns.getAllStandardPatterns(boardSize);
+        // Half the deck called: a typical mid-game claim
+        calledCards = deck.getAllCards().subList(0, cards.length / 2);
+        calledCardMask = PlayerBoard.toCardMask(calledCards);
+    }
+
+    @Benchmark
+    public boolean markCard() {
+        LoteriaCard card = cards[next];
+        next = (next + 1) % cards.length;
+        return board.markCard(card);
+    }
+
+    @Benchmark
+    public void checkPatternMask(Blackhole blackhole) {
+        for (WinningPattern pattern : patterns) {
+            blackhole.consume(board.checkPattern(pattern, calledCardMask));
+        }
+    }
+
+    @Benchmark
+    public void checkPatternList(Blackhole blackhole) {
+        for (WinningPattern pattern : patterns) {
+            blackhole.consume(board.checkPattern(pattern, calledCards));
+        }
+    }
+
+    @Benchmark
+    public PlayerBoard generateBoard() throws LoteriaException {
+        board.generateBoard(deck, random);
+        return board;
+    }
+}
@@ -0,0 +1,87 @@
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build-time generator for the card sprite atlases.
+ * Reads the full-size card artwork, scales every card once to each display size, and packs
+ * them into one JPEG image per size plus an index file mapping card numbers to their rectangle.
+ * Run as a single-file program by the Maven build (see the "generate-card-atlas" execution):
+ *
+ *   java build-tools/AtlasGenerator.java <media dir> <output dir> 70x100 120x180
+ *
+ * Output per size WxH: atlas-WxH.jpg and atlas-WxH.properties ("card=x,y,width,height").
+ * The artwork is photographic, so the atlas is stored as JPEG rather than PNG.
+ */
+public class AtlasGenerator {
+
+    private static final int CARD_COUNT = 54;
+    private static final int COLUMNS = 9;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: AtlasGenerator <media dir> <output dir> <WxH>...");
+            System.exit(1);
+        }
+        System.setProperty("java.awt.headless", "true");
+        Path mediaDir = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]);
+        Files.createDirectories(outputDir);
+
+        BufferedImage[] cards = new BufferedImage[CARD_COUNT + 1];
+        for (int card = 1; card <= CARD_COUNT; card++) {
+            Path file = mediaDir.resolve(card + ".png");
+            if (Files.exists(file)) {
+                cards[card] = ImageIO.read(file.toFile()); // The artwork is not always a real PNG; ImageIO sniffs the format
+            }
+        }
+
+        for (int i = 2; i < args.length; i++) {
+            String[] dimensions = args[i].split("x");
+            int cellWidth = Integer.parseInt(dimensions[0]);
+            int cellHeight = Integer.parseInt(dimensions[1]);
+            writeAtlas(cards, cellWidth, cellHeight, outputDir, "atlas-" + args[i]);
+        }
+    }
+
+    private static void writeAtlas(BufferedImage[] cards, int cellWidth, int cellHeight, Path outputDir, String name)
+            throws IOException {
+        int rows = (CARD_COUNT + COLUMNS - 1) / COLUMNS;
+        BufferedImage atlas = new BufferedImage(COLUMNS * cellWidth, rows * cellHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = atlas.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, atlas.getWidth(), atlas.getHeight());
+
+        try (Writer index = Files.newBufferedWriter(outputDir.resolve(name + ".properties"), StandardCharsets.UTF_8)) {
+            index.write("# Generated by build-tools/AtlasGenerator.java: card=x,y,width,height\n");
+            for (int card = 1; card <= CARD_COUNT; card++) {
+                BufferedImage source = cards[card];
+                if (source == null) {
+                    continue;
+                }
+                // Fit inside the cell, preserving the aspect ratio
+                double scale = Math.min((double) cellWidth / source.getWidth(), (double) cellHeight / source.getHeight());
+                int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+                int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+                int x = ((card - 1) % COLUMNS) * cellWidth;
+                int y = ((card - 1) / COLUMNS) * cellHeight;
+                Image scaled = source.getScaledInstance(width, height, Image.SCALE_AREA_AVERAGING);
+                graphics.drawImage(scaled, x, y, null);
+                index.write(card + "=" + x + "," + y + "," + width + "," + height + "\n");
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ImageIO.write(atlas, "jpg", outputDir.resolve(name + ".jpg").toFile());
+    }
+}
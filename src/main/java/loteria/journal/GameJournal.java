@@ -0,0 +1,535 @@
+package loteria.journal;
+
+import loteria.model.ClaimResult;
+import loteria.model.GameListener;
+import loteria.model.GameState;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only, event-sourced journal of one game: its seed and boards, every card called,
+ * every claim, pause and resume, and the result. Attach it to a game and it records events as they happen.
+ *
+ * <p>Events are encoded into a direct buffer by the thread that fires them, which never touches
+ * the file: a writer thread appends the buffered events to a {@link FileChannel} and forces
+ * them to disk in batches (group commit) — after {@code syncEvery} events, or on the first
+ * event once {@code syncIntervalMillis} has passed since the last sync — and as soon as the
+ * game ends. A crash therefore loses at most the last unsynced batch, and never corrupts what
+ * was synced: every record carries a CRC32C, and replay stops at the first torn record.
+ *
+ * <p>Every {@code snapshotEvery} events the journal is compacted: its whole content is
+ * replaced, atomically, by one snapshot record. Because a game is fully determined by its seed,
+ * a snapshot only needs the setup and how many cards were called, so recovery replays at most
+ * one snapshot and a short tail of events, which takes milliseconds.
+ *
+ * <p>A failed write never reaches the game: the journal stops recording, and {@link #sync()},
+ * {@link #compact()} and {@link #close()} report the failure.
+ *
+ * <p>The journal is thread-safe: claims may be recorded from any thread.
+ */
+public final class GameJournal implements GameListener, AutoCloseable {
+
+    public static final int DEFAULT_SYNC_EVERY = 4096;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 10;
+    public static final int DEFAULT_SNAPSHOT_EVERY = 65_536;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final int syncEvery;
+    private final long syncIntervalNanos;
+    private final int snapshotEvery;
+    private final Thread writer;
+
+    /** Owned by the writer thread once it has started. */
+    private FileChannel channel;
+
+    // Guarded by this
+    /** Events not yet handed to the writer. */
+    private ByteBuffer buffer;
+    /** The buffer the writer hands back after writing it; null while it is being written. */
+    private ByteBuffer spare;
+    private LoteriaGame game;
+    private int unsyncedEvents;
+    private long lastSyncNanos;
+    private int eventsSinceSnapshot;
+    private long requestedWrites;
+    private long completedWrites;
+    private boolean compactRequested;
+    private IOException failure;
+    private boolean closed;
+    private boolean writerStopped;
+
+    private GameJournal(Path file, int syncEvery, long syncIntervalMillis, int snapshotEvery) {
+        if (syncEvery <= 0 || snapshotEvery <= 0) {
+            throw new IllegalArgumentException("Sync and snapshot batch sizes must be positive.");
+        }
+        if (syncIntervalMillis < 0) {
+            throw new IllegalArgumentException("Sync interval cannot be negative.");
+        }
+        this.file = file;
+        this.syncEvery = syncEvery;
+        this.syncIntervalNanos = syncIntervalMillis * 1_000_000L;
+        this.snapshotEvery = snapshotEvery;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.spare = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.lastSyncNanos = System.nanoTime();
+        this.writer = new Thread(this::runWriter, "game-journal-" + file.getFileName());
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Creates a new, empty journal with the default sync and snapshot policy, replacing any
+     * existing file.
+     *
+     * @param file The journal file.
+     * @return The journal, not yet attached to a game.
+     * @throws IOException if the file cannot be created.
+     */
+    public static GameJournal create(Path file) throws IOException {
+        return create(file, DEFAULT_SYNC_EVERY, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * Creates a new, empty journal, replacing any existing file.
+     *
+     * @param file               The journal file.
+     * @param syncEvery          The maximum number of events between two syncs.
+     * @param syncIntervalMillis The maximum age of an unsynced batch when the next event arrives.
+     * @param snapshotEvery      The number of events after which the journal is compacted.
+     * @return The journal, not yet attached to a game.
+     * @throws IOException if the file cannot be created.
+     */
+    public static GameJournal create(Path file, int syncEvery, long syncIntervalMillis, int snapshotEvery) throws IOException {
+        GameJournal journal = new GameJournal(file, syncEvery, syncIntervalMillis, snapshotEvery);
+        journal.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            journal.putFileHeader();
+            journal.writeFully(journal.buffer);
+        } catch (IOException e) {
+            journal.channel.close();
+            throw e;
+        }
+        journal.writer.start();
+        return journal;
+    }
+
+    /**
+     * Rebuilds a game from its journal. The returned game is not journaled.
+     *
+     * @param file The journal file.
+     * @return The game in the state of the last intact record.
+     * @throws IOException      if the file cannot be read.
+     * @throws LoteriaException if the journal is not a game journal or does not replay consistently.
+     */
+    public static LoteriaGame replay(Path file) throws IOException, LoteriaException {
+        return JournalReader.replay(file);
+    }
+
+    /**
+     * Rebuilds a game from its journal, compacts the journal to a snapshot (dropping any torn
+     * tail) and keeps journaling the recovered game in it.
+     *
+     * @param file The journal file.
+     * @return The journal, attached to the recovered game; see {@link #getGame()}.
+     * @throws IOException      if the file cannot be read or rewritten.
+     * @throws LoteriaException if the journal does not replay consistently.
+     */
+    public static GameJournal recover(Path file) throws IOException, LoteriaException {
+        LoteriaGame game = replay(file);
+        GameJournal journal = new GameJournal(file, DEFAULT_SYNC_EVERY, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_EVERY);
+        journal.writer.start();
+        try {
+            journal.attach(game);
+        } catch (IOException e) {
+            try {
+                journal.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Starts journaling a game. A game that has already started is recorded as a snapshot.
+     *
+     * @param game The game to journal.
+     * @throws IOException           if the snapshot cannot be written.
+     * @throws IllegalStateException if the journal already has a game.
+     */
+    public synchronized void attach(LoteriaGame game) throws IOException {
+        if (this.game != null) {
+            throw new IllegalStateException("The journal is already attached to a game.");
+        }
+        this.game = game;
+        if (game.getGameState() != GameState.WAITING_FOR_PLAYERS) {
+            compact();
+        }
+        game.addListener(this);
+    }
+
+    /**
+     * @return The journaled game, or null if none is attached yet.
+     */
+    public synchronized LoteriaGame getGame() {
+        return game;
+    }
+
+    /**
+     * @return The journal file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void onGameStarted(LoteriaGame game) {
+        synchronized (this) {
+            if (isRecording()) {
+                int start = begin(JournalFormat.STARTED, JournalFormat.setupSize(game));
+                JournalFormat.putSetup(buffer, game);
+                end(start);
+            }
+        }
+    }
+
+    @Override
+    public void onCardCalled(LoteriaGame game, LoteriaCard card, int callNumber) {
+        synchronized (this) {
+            if (isRecording()) {
+                int start = begin(JournalFormat.CARD, 1 + Short.BYTES);
+                buffer.put((byte) card.getCardNumber());
+                buffer.putShort((short) callNumber);
+                end(start);
+            }
+        }
+    }
+
+    @Override
+    public void onClaim(LoteriaGame game, ClaimResult claim) {
+        synchronized (this) {
+            if (isRecording()) {
+                int start = begin(JournalFormat.CLAIM, JournalFormat.claimSize(claim));
+                JournalFormat.putClaim(buffer, game, claim);
+                end(start);
+            }
+        }
+    }
+
+    @Override
+    public void onGamePaused(LoteriaGame game) {
+        writeState(GameState.PAUSED);
+    }
+
+    @Override
+    public void onGameResumed(LoteriaGame game) {
+        writeState(GameState.IN_PROGRESS);
+    }
+
+    @Override
+    public void onGameOver(LoteriaGame game) {
+        synchronized (this) {
+            if (isRecording()) {
+                int start = begin(JournalFormat.OVER, 1);
+                buffer.put((byte) game.getGameState().ordinal());
+                finishRecord(start);
+                requestWrite(); // The result is made durable without waiting for the next event
+            }
+        }
+    }
+
+    /**
+     * Writes buffered events and forces them to disk, waiting for the writer thread.
+     *
+     * @throws IOException if this or an earlier write failed.
+     */
+    public synchronized void sync() throws IOException {
+        if (closed) {
+            return;
+        }
+        awaitWrite(requestWrite());
+    }
+
+    /**
+     * Replaces the journal, atomically, with a single snapshot of the game's current state,
+     * waiting for the writer thread.
+     *
+     * @throws IOException if the snapshot cannot be written, or an earlier write failed.
+     */
+    public synchronized void compact() throws IOException {
+        if (closed || game == null) {
+            return;
+        }
+        compactRequested = true;
+        awaitWrite(requestWrite());
+    }
+
+    /**
+     * Syncs outstanding events, stops the writer thread and closes the file. The game stays
+     * attached but is no longer journaled.
+     *
+     * @throws IOException if the final sync, or an earlier write, failed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        IOException error = null;
+        try {
+            sync();
+        } catch (IOException e) {
+            error = e;
+        }
+        closed = true;
+        if (game != null) {
+            game.removeListener(this);
+        }
+        notifyAll();
+        boolean interrupted = false;
+        while (!writerStopped) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error == null && failure != null) {
+            error = new IOException("Could not write the journal " + file + ".", failure);
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Records a pause or resume.
+     */
+    private synchronized void writeState(GameState state) {
+        if (isRecording()) {
+            int start = begin(JournalFormat.STATE, 1);
+            buffer.put((byte) state.ordinal());
+            end(start);
+        }
+    }
+
+    /**
+     * @return false once the journal is closed or a write has failed; later events are dropped.
+     */
+    private boolean isRecording() {
+        return !closed && failure == null;
+    }
+
+    /**
+     * Asks the writer thread for a write and sync of everything buffered so far.
+     *
+     * @return The number of the requested write, to wait for.
+     */
+    private long requestWrite() {
+        unsyncedEvents = 0;
+        lastSyncNanos = System.nanoTime();
+        notifyAll();
+        return ++requestedWrites;
+    }
+
+    /**
+     * Waits, releasing the lock, until the writer has completed the given write.
+     */
+    private void awaitWrite(long write) throws IOException {
+        while (completedWrites < write) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the journal to be written.");
+            }
+        }
+        if (failure != null) {
+            throw new IOException("Could not write the journal " + file + ".", failure);
+        }
+    }
+
+    /**
+     * The writer thread: takes the buffered events, or a snapshot replacing them, and writes
+     * them outside the lock, so event threads never wait for the disk.
+     */
+    private void runWriter() {
+        try {
+            while (true) {
+                long write;
+                boolean compacting;
+                ByteBuffer pending;
+                synchronized (this) {
+                    while (completedWrites == requestedWrites && !closed) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            // Only close() stops the writer
+                        }
+                    }
+                    if (completedWrites == requestedWrites) {
+                        return; // Closed, and everything requested has been written
+                    }
+                    write = requestedWrites;
+                    compacting = compactRequested && failure == null;
+                    compactRequested = false;
+                    if (compacting) {
+                        putSnapshot(); // Everything buffered is covered by the snapshot
+                    }
+                    pending = buffer;
+                    buffer = spare;
+                    spare = null;
+                }
+
+                IOException error = null;
+                try {
+                    if (compacting) {
+                        writeSnapshot(pending);
+                    } else if (channel != null) {
+                        writeFully(pending);
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    error = e;
+                } catch (RuntimeException e) {
+                    error = new IOException(e);
+                }
+
+                synchronized (this) {
+                    pending.clear();
+                    spare = pending;
+                    if (error != null && failure == null) {
+                        failure = error;
+                    }
+                    completedWrites = write;
+                    notifyAll();
+                }
+            }
+        } finally {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            synchronized (this) {
+                writerStopped = true;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Replaces the buffered events with a file header and a snapshot of the game.
+     */
+    private void putSnapshot() {
+        long calledCardMask = game.getCalledCardMask();
+        GameState state = game.getGameState();
+        ClaimResult winningClaim = game.getWinningClaim();
+        if (state == GameState.FINISHED && winningClaim == null) {
+            state = GameState.IN_PROGRESS; // The claim is still being published; its CLAIM event follows
+        }
+        putFileHeader();
+        int start = begin(JournalFormat.SNAPSHOT, JournalFormat.snapshotSize(game, winningClaim));
+        JournalFormat.putSnapshot(buffer, game, calledCardMask, state, winningClaim);
+        finishRecord(start);
+        unsyncedEvents = 0;
+        eventsSinceSnapshot = 0;
+    }
+
+    /**
+     * Writes a new journal file holding the given header and snapshot, and moves it over the old one.
+     */
+    private void writeSnapshot(ByteBuffer snapshot) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            snapshot.flip();
+            while (snapshot.hasRemaining()) {
+                out.write(snapshot);
+            }
+            out.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void putFileHeader() {
+        buffer.clear();
+        buffer.putInt(JournalFormat.MAGIC);
+        buffer.putShort(JournalFormat.VERSION);
+    }
+
+    /**
+     * Reserves room for a record and writes its type. Returns the record's start position.
+     * The buffer grows rather than waiting for the writer to drain it.
+     */
+    private int begin(byte type, int payloadSize) {
+        int recordSize = JournalFormat.RECORD_HEADER_SIZE + 1 + payloadSize;
+        if (buffer.remaining() < recordSize) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Integer.highestOneBit(buffer.position() + recordSize) << 1);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        int start = buffer.position();
+        buffer.position(start + JournalFormat.RECORD_HEADER_SIZE);
+        buffer.put(type);
+        return start;
+    }
+
+    /**
+     * Seals a record and applies the sync and snapshot policy.
+     */
+    private void end(int start) {
+        finishRecord(start);
+        unsyncedEvents++;
+        eventsSinceSnapshot++;
+        if (eventsSinceSnapshot >= snapshotEvery) {
+            eventsSinceSnapshot = 0;
+            compactRequested = true;
+            requestWrite();
+        } else if (unsyncedEvents >= syncEvery || System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+            requestWrite();
+        }
+    }
+
+    private void finishRecord(int start) {
+        int length = buffer.position() - start - JournalFormat.RECORD_HEADER_SIZE;
+        buffer.putInt(start, length);
+        buffer.putInt(start + Integer.BYTES, JournalFormat.checksum(buffer, start + JournalFormat.RECORD_HEADER_SIZE, length));
+    }
+
+    private void writeFully(ByteBuffer events) throws IOException {
+        events.flip();
+        while (events.hasRemaining()) {
+            channel.write(events);
+        }
+        events.clear();
+    }
+}
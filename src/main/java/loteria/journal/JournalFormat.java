@@ -0,0 +1,172 @@
+package loteria.journal;
+
+import loteria.model.ClaimResult;
+import loteria.model.GameState;
+import loteria.model.LoteriaGame;
+import loteria.model.Player;
+import loteria.model.PatternType;
+import loteria.model.PlayerBoard;
+import loteria.model.Position;
+import loteria.model.WinningPattern;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * The on-disk layout of a game journal.
+ *
+ * <pre>
+ * file    := MAGIC:int VERSION:short record*
+ * record  := length:int crc:int type:byte payload    (length and CRC32C cover type + payload)
+ *
+ * STARTED  := setup
+ * CARD     := cardNumber:byte callNumber:short
+ * CLAIM    := claim
+ * OVER     := state:byte
+ * STATE    := state:byte                               (PAUSED, or IN_PROGRESS when resumed)
+ * SNAPSHOT := setup callCount:short calledCardMask:long state:byte hasWinner:byte [claim]
+ *
+ * setup    := seed:long algorithm:str maxPlayers:int autoDetect:byte playerCount:int player*
+ * player   := name:str boardCount:byte (size:byte cardNumber:byte{size*size})*
+ * claim    := playerIndex:int boardIndex:short status:byte callSequence:short pattern
+ * pattern  := name:str type:byte points:int positionCount:byte (row:byte col:byte)*
+ * str      := length:short utf8:byte{length}
+ * </pre>
+ *
+ * A record whose length or checksum does not match marks the torn end of the journal.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4C4F544A; // "LOTJ"
+    static final short VERSION = 1;
+    static final int FILE_HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    static final byte STARTED = 1;
+    static final byte CARD = 2;
+    static final byte CLAIM = 3;
+    static final byte OVER = 4;
+    static final byte SNAPSHOT = 5;
+    static final byte STATE = 6;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * @return The encoded size of the game's setup, boards included.
+     */
+    static int setupSize(LoteriaGame game) {
+        int size = Long.BYTES + strSize(game.getRandomAlgorithm()) + Integer.BYTES + 1 + Integer.BYTES;
+        for (Player player : game.getPlayers()) {
+            size += strSize(player.getName()) + 1;
+            for (PlayerBoard board : player.getBoards()) {
+                size += 1 + board.getSize() * board.getSize();
+            }
+        }
+        return size;
+    }
+
+    static void putSetup(ByteBuffer out, LoteriaGame game) {
+        out.putLong(game.getSessionSeed());
+        putStr(out, game.getRandomAlgorithm());
+        out.putInt(game.getMaxPlayers());
+        out.put((byte) (game.isAutoDetectWinners() ? 1 : 0));
+        List<Player> players = game.getPlayers();
+        out.putInt(players.size());
+        for (Player player : players) {
+            putStr(out, player.getName());
+            out.put((byte) player.getBoards().size());
+            for (PlayerBoard board : player.getBoards()) {
+                int size = board.getSize();
+                out.put((byte) size);
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        out.put((byte) board.getCardId(row, col));
+                    }
+                }
+            }
+        }
+    }
+
+    static int claimSize(ClaimResult claim) {
+        WinningPattern pattern = claim.getPattern();
+        return Integer.BYTES + Short.BYTES + 1 + Short.BYTES
+                + strSize(pattern.getName()) + 1 + Integer.BYTES + 1 + 2 * pattern.getRequiredPositions().size();
+    }
+
+    static void putClaim(ByteBuffer out, LoteriaGame game, ClaimResult claim) {
+        Player player = claim.getPlayer();
+        out.putInt(game.getPlayers().indexOf(player));
+        out.putShort((short) (claim.getBoard() == null ? -1 : player.getBoards().indexOf(claim.getBoard())));
+        out.put((byte) claim.getStatus().ordinal());
+        out.putShort((short) claim.getCallSequence());
+        WinningPattern pattern = claim.getPattern();
+        putStr(out, pattern.getName());
+        out.put((byte) pattern.getType().ordinal());
+        out.putInt(pattern.getPointValue());
+        out.put((byte) pattern.getRequiredPositions().size());
+        for (Position position : pattern.getRequiredPositions()) {
+            out.put((byte) position.getRow());
+            out.put((byte) position.getCol());
+        }
+    }
+
+    /**
+     * Reads a pattern written by {@link #putClaim}, so custom patterns replay as well as standard ones.
+     */
+    static WinningPattern getPattern(ByteBuffer in) {
+        String name = getStr(in);
+        PatternType type = PatternType.values()[in.get()];
+        int pointValue = in.getInt();
+        int count = in.get();
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(new Position(in.get(), in.get()));
+        }
+        return new WinningPattern(name, type, positions, pointValue);
+    }
+
+    static int snapshotSize(LoteriaGame game, ClaimResult winningClaim) {
+        return setupSize(game) + Short.BYTES + Long.BYTES + 1 + 1 + (winningClaim == null ? 0 : claimSize(winningClaim));
+    }
+
+    static void putSnapshot(ByteBuffer out, LoteriaGame game, long calledCardMask, GameState state, ClaimResult winningClaim) {
+        putSetup(out, game);
+        out.putShort((short) Long.bitCount(calledCardMask));
+        out.putLong(calledCardMask);
+        out.put((byte) state.ordinal());
+        out.put((byte) (winningClaim == null ? 0 : 1));
+        if (winningClaim != null) {
+            putClaim(out, game, winningClaim);
+        }
+    }
+
+    static int strSize(String value) {
+        return Short.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    static void putStr(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    static String getStr(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the checksum of {@code length} bytes starting at {@code offset}, without moving
+     * the buffer's position.
+     */
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,207 @@
+package loteria.journal;
+
+import loteria.model.ClaimResult;
+import loteria.model.GameState;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import loteria.model.WinningPattern;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Replays a game journal. The file is memory-mapped and read in one pass; the game is rebuilt
+ * from its seed and every recorded board and card is checked against the replay, so a journal
+ * that does not belong to this version of the game is rejected instead of silently diverging.
+ */
+final class JournalReader {
+
+    private static final GameState[] STATES = GameState.values();
+    private static final ClaimResult.Status[] STATUSES = ClaimResult.Status.values();
+
+    private LoteriaGame game;
+
+    private JournalReader() {
+    }
+
+    static LoteriaGame replay(Path file) throws IOException, LoteriaException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.remaining() < JournalFormat.FILE_HEADER_SIZE
+                || in.getInt() != JournalFormat.MAGIC || in.getShort() != JournalFormat.VERSION) {
+            throw new LoteriaException("Not a game journal: " + file);
+        }
+
+        JournalReader reader = new JournalReader();
+        while (in.remaining() >= JournalFormat.RECORD_HEADER_SIZE + 1) {
+            int start = in.position();
+            int length = in.getInt();
+            int crc = in.getInt();
+            if (length <= 0 || length > in.remaining()
+                    || JournalFormat.checksum(in, start + JournalFormat.RECORD_HEADER_SIZE, length) != crc) {
+                break; // Torn tail of a crash: everything before it is intact
+            }
+            ByteBuffer record = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            reader.apply(record);
+        }
+        if (reader.game == null) {
+            throw new LoteriaException("The journal holds no started game: " + file);
+        }
+        return reader.game;
+    }
+
+    private void apply(ByteBuffer record) throws LoteriaException {
+        byte type = record.get();
+        switch (type) {
+            case JournalFormat.STARTED -> game = setUp(record);
+            case JournalFormat.SNAPSHOT -> applySnapshot(record);
+            case JournalFormat.CARD -> {
+                int cardNumber = record.get();
+                applyCard(cardNumber, record.getShort());
+            }
+            case JournalFormat.CLAIM -> applyClaim(record);
+            case JournalFormat.OVER, JournalFormat.STATE -> applyState(STATES[record.get()]);
+            default -> throw new LoteriaException("Unknown journal record type " + type + ".");
+        }
+    }
+
+    /**
+     * Recreates and starts the game, then checks the regenerated boards against the recorded ones.
+     */
+    private static LoteriaGame setUp(ByteBuffer in) throws LoteriaException {
+        long seed = in.getLong();
+        String algorithm = JournalFormat.getStr(in);
+        LoteriaGame game = new LoteriaGame(in.getInt(), seed, algorithm);
+        game.setAutoDetectWinners(in.get() != 0);
+
+        int playerCount = in.getInt();
+        byte[][] recordedBoards = new byte[0][];
+        int boardCount = 0;
+        for (int p = 0; p < playerCount; p++) {
+            Player player = new Player(JournalFormat.getStr(in));
+            int boards = in.get();
+            for (int b = 0; b < boards; b++) {
+                int size = in.get();
+                byte[] cards = new byte[size * size];
+                in.get(cards);
+                player.addBoard(new PlayerBoard(size, player));
+                if (boardCount == recordedBoards.length) {
+                    recordedBoards = Arrays.copyOf(recordedBoards, Math.max(16, boardCount * 2));
+                }
+                recordedBoards[boardCount++] = cards;
+            }
+            game.addPlayer(player);
+        }
+        game.startGame();
+
+        int index = 0;
+        for (Player player : game.getPlayers()) {
+            for (PlayerBoard board : player.getBoards()) {
+                byte[] cards = recordedBoards[index++];
+                int size = board.getSize();
+                for (int cell = 0; cell < cards.length; cell++) {
+                    if (board.getCardId(cell / size, cell % size) != cards[cell]) {
+                        throw new LoteriaException("Journal boards do not match the replayed game.");
+                    }
+                }
+            }
+        }
+        return game;
+    }
+
+    private void applySnapshot(ByteBuffer in) throws LoteriaException {
+        game = setUp(in);
+        int callCount = in.getShort();
+        long calledCardMask = in.getLong();
+        GameState state = STATES[in.get()];
+        boolean hasWinner = in.get() != 0;
+        for (int call = 1; call <= callCount; call++) {
+            game.callNextCardId();
+        }
+        if (game.getCalledCardMask() != calledCardMask) {
+            throw new LoteriaException("Journal calls do not match the replayed game.");
+        }
+        if (hasWinner) {
+            applyClaim(in);
+        }
+        applyState(state);
+    }
+
+    private void applyCard(int cardNumber, int callNumber) throws LoteriaException {
+        requireGame();
+        if (callNumber <= game.getCallCount()) {
+            // Already called by a snapshot or a claim recorded ahead of it; check it matches
+            if (callNumber <= 0 || game.getCalledCardId(callNumber - 1) != cardNumber) {
+                throw new LoteriaException("Journal calls do not match the replayed game.");
+            }
+            return;
+        }
+        if (callNumber != game.getCallCount() + 1 || callNext() != cardNumber) {
+            throw new LoteriaException("Journal calls do not match the replayed game.");
+        }
+    }
+
+    private void applyClaim(ByteBuffer in) throws LoteriaException {
+        requireGame();
+        Player player = game.getPlayers().get(in.getInt());
+        in.getShort(); // Board index, found again by the claim itself
+        ClaimResult.Status status = STATUSES[in.get()];
+        int callSequence = in.getShort();
+        WinningPattern pattern = JournalFormat.getPattern(in);
+        if (status != ClaimResult.Status.ACCEPTED || game.isGameOver()) {
+            return; // Refused claims do not change the game
+        }
+        // A claim can be recorded before the card it was validated against: the card is
+        // published to claimers before its CARD record is written. Calls are determined by
+        // the seed, so replay them up to the claim's sequence; the CARD records are checked later.
+        while (game.getCallCount() < callSequence) {
+            callNext();
+        }
+        if (game.getCallCount() != callSequence || !game.claimWin(player, pattern).isAccepted()) {
+            throw new LoteriaException("Journal claim by " + player.getName() + " does not replay.");
+        }
+    }
+
+    /**
+     * Calls the next card. A call that raced with a pause can be recorded after the pause, so a
+     * paused game is resumed for the call and paused again.
+     */
+    private int callNext() throws LoteriaException {
+        if (!game.isPaused()) {
+            return game.callNextCardId();
+        }
+        game.resumeGame();
+        try {
+            return game.callNextCardId();
+        } finally {
+            game.pauseGame();
+        }
+    }
+
+    private void applyState(GameState state) throws LoteriaException {
+        requireGame();
+        if (state == GameState.CANCELLED) {
+            game.cancelGame();
+        } else if (state == GameState.PAUSED && game.getGameState() == GameState.IN_PROGRESS) {
+            game.pauseGame();
+        } else if (state == GameState.IN_PROGRESS && game.isPaused()) {
+            game.resumeGame();
+        }
+    }
+
+    private void requireGame() throws LoteriaException {
+        if (game == null) {
+            throw new LoteriaException("Journal event recorded before the game started.");
+        }
+    }
+}
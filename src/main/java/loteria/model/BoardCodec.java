@@ -0,0 +1,130 @@
+package loteria.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary form of a board: its card numbers, six bits each, in row-major order.
+ * A 4x4 tabla takes 12 bytes. Markers are not stored; they follow from the called cards.
+ *
+ * <p>Boards are read and written in place in the caller's buffer, without intermediate arrays,
+ * and single cells can be read straight from an encoded board, so large archives of boards can
+ * be scanned without decoding them.
+ */
+public final class BoardCodec {
+
+    private BoardCodec() {
+    }
+
+    /**
+     * @param boardSize The dimension of the board.
+     * @return The number of bytes an encoded board of that size takes.
+     */
+    public static int encodedSize(int boardSize) {
+        return SixBits.bytesFor(boardSize * boardSize);
+    }
+
+    /**
+     * Writes a board at the buffer's position and advances the position past it.
+     *
+     * @param board The board to encode. Empty cells are written as 0.
+     * @param out   The buffer to write to.
+     */
+    public static void write(PlayerBoard board, ByteBuffer out) {
+        int index = out.position();
+        write(board, out, index);
+        out.position(index + encodedSize(board.getSize()));
+    }
+
+    /**
+     * Writes a board at an absolute index, without moving the buffer's position.
+     *
+     * @param board The board to encode. Empty cells are written as 0.
+     * @param out   The buffer to write to.
+     * @param index The index of the first byte.
+     */
+    public static void write(PlayerBoard board, ByteBuffer out, int index) {
+        int size = board.getSize();
+        // Same bit layout as SixBits, streamed straight from the cells
+        long bits = 0;
+        int filled = 0;
+        int at = index;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                bits |= (long) board.getCardId(row, col) << filled;
+                filled += 6;
+                if (filled >= 8) {
+                    out.put(at++, (byte) bits);
+                    bits >>>= 8;
+                    filled -= 8;
+                }
+            }
+        }
+        if (filled > 0) {
+            out.put(at, (byte) bits);
+        }
+    }
+
+    /**
+     * Reads a board at the buffer's position into a new board and advances the position past it.
+     *
+     * @param in        The buffer to read from.
+     * @param boardSize The dimension of the encoded board.
+     * @param owner     The owner of the new board.
+     * @return The decoded board, with no markers.
+     */
+    public static PlayerBoard read(ByteBuffer in, int boardSize, Player owner) {
+        PlayerBoard board = new PlayerBoard(boardSize, owner);
+        readInto(in, board);
+        return board;
+    }
+
+    /**
+     * Reads a board at the buffer's position into an existing board of the same size, replacing
+     * its cards and clearing its markers, and advances the position past it.
+     *
+     * @param in    The buffer to read from.
+     * @param board The board to overwrite.
+     * @throws IllegalArgumentException if the encoding holds a card number that does not exist.
+     */
+    public static void readInto(ByteBuffer in, PlayerBoard board) {
+        int index = in.position();
+        int cells = board.getSize() * board.getSize();
+        board.clear();
+        long bits = 0;
+        int filled = 0;
+        int at = index;
+        for (int cell = 0; cell < cells; cell++) {
+            if (filled < 6) {
+                bits |= (long) (in.get(at++) & 0xFF) << filled;
+                filled += 8;
+            }
+            int cardNumber = (int) (bits & SixBits.MAX_VALUE);
+            bits >>>= 6;
+            filled -= 6;
+            if (cardNumber != 0) {
+                if (!LoteriaCards.isCardId(cardNumber)) {
+                    throw new IllegalArgumentException("Encoded board holds unknown card number " + cardNumber + ".");
+                }
+                board.placeCardId(cell, cardNumber);
+            }
+        }
+        in.position(index + SixBits.bytesFor(cells));
+    }
+
+    /**
+     * Reads one cell of an encoded board without decoding the rest.
+     *
+     * @param in        The buffer holding the board.
+     * @param index     The index of the board's first byte.
+     * @param boardSize The dimension of the encoded board.
+     * @param row       The row of the cell.
+     * @param col       The column of the cell.
+     * @return The card number in the cell, or 0 if it is empty.
+     */
+    public static int cardNumberAt(ByteBuffer in, int index, int boardSize, int row, int col) {
+        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside the board.");
+        }
+        return SixBits.get(in, index, row * boardSize + col);
+    }
+}
@@ -0,0 +1,114 @@
+package loteria.model;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Fills many boards at once with random, unique cards.
+ * Boards are processed in fixed-size chunks. Each chunk gets its own generator split
+ * from the caller's generator in chunk order, and runs a partial Fisher-Yates shuffle
+ * over a reusable index array, so nothing is allocated per board and the result for a
+ * given seed is the same whether the chunks run sequentially or in parallel.
+ */
+final class BoardGenerator {
+
+    /** Number of boards filled by one task. */
+    static final int CHUNK_SIZE = 256;
+
+    /** Below this many boards, the fork-join overhead is not worth paying. */
+    private static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+
+    private BoardGenerator() {}
+
+    /**
+     * Generates every board in the list from the given card pool.
+     *
+     * @param boards   The boards to fill.
+     * @param cardPool The cards to choose from (usually the full deck).
+     * @param random   The generator the per-chunk generators are split from.
+     * @throws LoteriaException if the pool does not have enough cards for one of the boards.
+     */
+    static void generateAll(List<PlayerBoard> boards, List<LoteriaCard> cardPool,
+                            RandomGenerator.SplittableGenerator random) throws LoteriaException {
+        byte[] pool = cardIds(cardPool);
+        for (PlayerBoard board : boards) {
+            if (board.getSize() * board.getSize() > pool.length) {
+                throw new LoteriaException("Deck does not have enough cards to generate a board of size " + board.getSize());
+            }
+        }
+
+        int chunkCount = (boards.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        RandomGenerator[] chunkRandoms = new RandomGenerator[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkRandoms[chunk] = random.split();
+        }
+
+        IntStream chunks = IntStream.range(0, chunkCount);
+        if (boards.size() >= PARALLEL_THRESHOLD) {
+            chunks = chunks.parallel();
+        }
+        chunks.forEach(chunk -> {
+            int[] order = identity(pool.length);
+            int end = Math.min(boards.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                PlayerBoard board = boards.get(i);
+                int cellCount = board.getSize() * board.getSize();
+                partialShuffle(order, cellCount, chunkRandoms[chunk]);
+                board.fill(pool, order);
+            }
+        });
+    }
+
+    /**
+     * Generates a single board from the given card pool.
+     *
+     * @param board    The board to fill.
+     * @param cardPool The cards to choose from.
+     * @param random   The generator to draw from.
+     * @throws LoteriaException if the pool does not have enough cards for the board.
+     */
+    static void generate(PlayerBoard board, List<LoteriaCard> cardPool, RandomGenerator random) throws LoteriaException {
+        int cellCount = board.getSize() * board.getSize();
+        if (cardPool.size() < cellCount) {
+            throw new LoteriaException("Deck does not have enough cards to generate a board of size " + board.getSize());
+        }
+        byte[] pool = cardIds(cardPool);
+        int[] order = identity(pool.length);
+        partialShuffle(order, cellCount, random);
+        board.fill(pool, order);
+    }
+
+    /**
+     * Moves a uniformly random selection of {@code count} distinct entries into the first
+     * {@code count} slots of the array. The array stays a permutation, so it can be reused.
+     *
+     * @param order  The permutation to shuffle in place.
+     * @param count  How many leading slots to randomize.
+     * @param random The generator to draw from.
+     */
+    static void partialShuffle(int[] order, int count, RandomGenerator random) {
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(order.length - i);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    private static byte[] cardIds(List<LoteriaCard> cards) {
+        byte[] ids = new byte[cards.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cards.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
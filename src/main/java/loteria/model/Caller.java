@@ -2,7 +2,8 @@ package loteria.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the "Caller" (El Gritón) in a game of Lotería.
@@ -17,7 +18,7 @@ public class Caller {
     private final List<String> callingPhrases;
 
     /** A random number generator for selecting a calling phrase. */
-    private final Random random;
+    private final RandomGenerator random;
 
     /**
      * Constructs a new Caller with a specific deck of cards.
@@ -25,11 +26,24 @@ public class Caller {
      * @param deck The game deck to be used. Must not be null.
      */
     public Caller(Deck deck) {
+        this(deck, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a new Caller with a specific deck of cards and phrase generator.
+     *
+     * @param deck   The game deck to be used. Must not be null.
+     * @param random The generator used to pick calling phrases. Must not be null.
+     */
+    public Caller(Deck deck, RandomGenerator random) {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null.");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null.");
+        }
         this.deck = deck;
-        this.random = new Random();
+        this.random = random;
         this.callingPhrases = new ArrayList<>();
         initializePhrases();
     }
@@ -47,6 +61,19 @@ public class Caller {
         return deck.drawCard();
     }
 
+    /**
+     * Draws the next card from the deck and returns its id.
+     *
+     * @return The id (number) of the card that was drawn.
+     * @throws IllegalStateException if there are no more cards in the deck to call.
+     */
+    public int callCardId() {
+        if (!deck.hasMoreCards()) {
+            throw new IllegalStateException("No more cards in the deck to call.");
+        }
+        return deck.drawCardId();
+    }
+
     /**
      * Creates a fun, randomized announcement string for a given card.
      * Example: "¡Corre y se va con... El Gallo!"
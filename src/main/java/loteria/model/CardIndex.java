@@ -0,0 +1,132 @@
+package loteria.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inverted index from card number to the boards (and cells) that hold that card.
+ * It is built once when a game starts, so calling a card only touches the boards that
+ * actually contain it instead of every board in the game.
+ */
+final class CardIndex {
+
+    /** Card numbers are used directly as indexes, matching the PlayerBoard card mask. */
+    private static final int CARD_INDEX_SIZE = Long.SIZE;
+
+    private final PlayerBoard[] boards;
+    private final int[][] boardSlots;
+    private final byte[][] cells;
+
+    private CardIndex(PlayerBoard[] boards, int[][] boardSlots, byte[][] cells) {
+        this.boards = boards;
+        this.boardSlots = boardSlots;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds the index over every board of every player.
+     *
+     * @param players The players whose boards have already been generated.
+     * @return A new CardIndex.
+     */
+    static CardIndex build(List<Player> players) {
+        List<PlayerBoard> allBoards = new ArrayList<>();
+        for (Player player : players) {
+            allBoards.addAll(player.getBoards());
+        }
+        PlayerBoard[] boards = allBoards.toArray(new PlayerBoard[0]);
+
+        // First pass: count how many boards hold each card
+        int[] counts = new int[CARD_INDEX_SIZE];
+        for (PlayerBoard board : boards) {
+            long cardMask = board.getCardMask();
+            while (cardMask != 0L) {
+                counts[Long.numberOfTrailingZeros(cardMask)]++;
+                cardMask &= cardMask - 1;
+            }
+        }
+
+        int[][] boardSlots = new int[CARD_INDEX_SIZE][];
+        byte[][] cells = new byte[CARD_INDEX_SIZE][];
+        for (int cardNumber = 0; cardNumber < CARD_INDEX_SIZE; cardNumber++) {
+            boardSlots[cardNumber] = new int[counts[cardNumber]];
+            cells[cardNumber] = new byte[counts[cardNumber]];
+        }
+
+        // Second pass: record the (board, cell) hits for each card
+        int[] fill = new int[CARD_INDEX_SIZE];
+        for (int slot = 0; slot < boards.length; slot++) {
+            PlayerBoard board = boards[slot];
+            long cardMask = board.getCardMask();
+            while (cardMask != 0L) {
+                int cardNumber = Long.numberOfTrailingZeros(cardMask);
+                int hit = fill[cardNumber]++;
+                boardSlots[cardNumber][hit] = slot;
+                cells[cardNumber][hit] = (byte) board.cellOfCardNumber(cardNumber);
+                cardMask &= cardMask - 1;
+            }
+        }
+        return new CardIndex(boards, boardSlots, cells);
+    }
+
+    /**
+     * Marks the given card on every board that holds it.
+     *
+     * @param cardNumber The number of the called card.
+     * @return The number of boards that were marked.
+     */
+    int markAll(int cardNumber) {
+        if (!isIndexable(cardNumber)) {
+            return 0;
+        }
+        int[] slots = boardSlots[cardNumber];
+        byte[] hitCells = cells[cardNumber];
+        for (int hit = 0; hit < slots.length; hit++) {
+            boards[slots[hit]].markCell(hitCells[hit]);
+        }
+        return slots.length;
+    }
+
+    /**
+     * Gets the board slots holding a card. The returned array must not be modified.
+     *
+     * @param cardNumber The card number.
+     * @return The slots of the boards that hold the card, parallel to {@link #cellsFor(int)}.
+     */
+    int[] slotsFor(int cardNumber) {
+        return boardSlots[cardNumber];
+    }
+
+    /**
+     * Gets the cells a card occupies on each board that holds it. The returned array must not be modified.
+     *
+     * @param cardNumber The card number.
+     * @return The cell of the card on each board, parallel to {@link #slotsFor(int)}.
+     */
+    byte[] cellsFor(int cardNumber) {
+        return cells[cardNumber];
+    }
+
+    /**
+     * @param slot The board slot.
+     * @return The board stored in that slot.
+     */
+    PlayerBoard board(int slot) {
+        return boards[slot];
+    }
+
+    /**
+     * @return The number of indexed boards.
+     */
+    int boardCount() {
+        return boards.length;
+    }
+
+    /**
+     * @param cardNumber A card number.
+     * @return true if the number can be looked up in this index.
+     */
+    static boolean isIndexable(int cardNumber) {
+        return cardNumber >= 0 && cardNumber < CARD_INDEX_SIZE;
+    }
+}
@@ -0,0 +1,102 @@
+package loteria.model;
+
+/**
+ * The immutable outcome of a "¡Lotería!" claim.
+ * Every claim is stamped with the call sequence number it was validated against, that is,
+ * how many cards had been called in the snapshot the claim was checked with.
+ */
+public final class ClaimResult {
+
+    /**
+     * The possible outcomes of a claim.
+     */
+    public enum Status {
+        /** The claim was valid and was the first to be accepted; the claimant won. */
+        ACCEPTED,
+
+        /** None of the player's boards has the claimed pattern. */
+        REJECTED,
+
+        /** The claim was valid, but another claim had already won the game. */
+        TOO_LATE,
+
+        /** The game had not started, or had been cancelled, when the claim arrived. */
+        NOT_IN_PROGRESS
+    }
+
+    private final Status status;
+    private final Player player;
+    private final WinningPattern pattern;
+    private final PlayerBoard board;
+    private final int callSequence;
+
+    /**
+     * Constructs a new ClaimResult.
+     *
+     * @param status       The outcome of the claim.
+     * @param player       The claiming player.
+     * @param pattern      The claimed pattern.
+     * @param board        The board that has the pattern, or null if none does.
+     * @param callSequence The number of cards called in the snapshot the claim was validated against.
+     */
+    public ClaimResult(Status status, Player player, WinningPattern pattern, PlayerBoard board, int callSequence) {
+        this.status = status;
+        this.player = player;
+        this.pattern = pattern;
+        this.board = board;
+        this.callSequence = callSequence;
+    }
+
+    /**
+     * @return The outcome of the claim.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true if this claim won the game.
+     */
+    public boolean isAccepted() {
+        return status == Status.ACCEPTED;
+    }
+
+    /**
+     * @return The claiming player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return The claimed pattern.
+     */
+    public WinningPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return The board that has the pattern, or null if the claim was rejected.
+     */
+    public PlayerBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The number of cards called when the claim was validated.
+     */
+    public int getCallSequence() {
+        return callSequence;
+    }
+
+    /**
+     * Returns a user-friendly string representation of the claim.
+     * Example: "Ana: Four Corners ACCEPTED @ call 12"
+     *
+     * @return A formatted string.
+     */
+    @Override
+    public String toString() {
+        return player.getName() + ": " + pattern.getName() + " " + status + " @ call " + callSequence;
+    }
+}
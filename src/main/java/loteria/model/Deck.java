@@ -1,67 +1,99 @@
 package loteria.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the deck of 54 Lotería cards.
  * This class is responsible for initializing, shuffling, and dealing the cards.
+ *
+ * <p>The deck is one permutation of card ids and a draw cursor: the cards before the cursor
+ * have been called, in call order, and the cards from the cursor on are still to be drawn.
+ * Drawing advances the cursor, shuffling and resetting permute the array in place, and
+ * {@link #getCalledCards()} is a view of the prefix, so a deck never allocates after creation.
  */
 public class Deck {
 
-    /** The master list of all 54 unique cards. This list is never modified after creation. */
-    private final List<LoteriaCard> cards;
+    /** The number of cards in the deck. */
+    private static final int SIZE = LoteriaCards.CARD_COUNT;
 
-    /** The current pile of cards that can still be drawn. */
-    private List<LoteriaCard> remainingCards;
+    /** Card ids; {@code [0, drawn)} have been called, {@code [drawn, SIZE)} remain. */
+    private final byte[] order;
 
-    /** A list of cards that have already been drawn from the deck in the current game. */
+    /** The number of cards drawn since the last reset, i.e. the draw cursor. */
+    private int drawn;
+
+    /** A read-only view of the called prefix. */
     private final List<LoteriaCard> calledCards;
 
+    /** The source of randomness for shuffling. */
+    private final RandomGenerator random;
+
     /**
-     * Constructs a new Deck.
+     * Constructs a new Deck with an unseeded random generator.
      * It initializes a full set of 54 Lotería cards and shuffles them.
      */
     public Deck() {
-        this.cards = new ArrayList<>(54);
-        this.calledCards = new ArrayList<>(54);
-        this.remainingCards = new ArrayList<>(54);
-        initializeDeck();
-        reset();
+        this(new SplittableRandom());
     }
 
     /**
-     * Populates the master 'cards' list from the LoteriaCards utility class.
-     * This method is called once by the constructor.
+     * Constructs a new Deck that shuffles with the given generator.
+     * A seeded generator makes the deck order reproducible.
+     *
+     * @param random The generator used for every shuffle. Must not be null.
      */
-    private void initializeDeck() {
-        // Assuming LoteriaCards.getAllCards() returns the 54 standard cards
-        this.cards.addAll(LoteriaCards.getAllCards());
+    public Deck(RandomGenerator random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null.");
+        }
+        this.random = random;
+        this.order = new byte[SIZE];
+        this.calledCards = new CalledCards();
+        reset();
     }
 
     /**
-     * Shuffles the list of remaining (undrawn) cards into a random order.
+     * Shuffles the remaining (undrawn) cards into a random order.
+     * For a given generator the draw order is the same as a Fisher-Yates shuffle of the
+     * remaining pile drawn from its end, so seeded games replay exactly as before.
      */
     public void shuffle() {
-        Collections.shuffle(this.remainingCards);
+        // Fisher-Yates over the suffix; pile index k lives at array index SIZE - 1 - k
+        for (int i = SIZE - drawn - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = SIZE - 1 - i;
+            int b = SIZE - 1 - j;
+            byte swap = order[a];
+            order[a] = order[b];
+            order[b] = swap;
+        }
     }
 
     /**
      * Draws a single card from the top of the remaining cards pile.
-     * The drawn card is moved from 'remainingCards' to 'calledCards'.
+     * The drawn card becomes the last of the called cards.
      *
      * @return The LoteriaCard drawn from the deck.
      * @throws IllegalStateException if the deck is empty.
      */
     public LoteriaCard drawCard() {
+        return LoteriaCards.getCardByNumber(drawCardId());
+    }
+
+    /**
+     * Draws a single card from the top of the remaining cards pile and returns its id.
+     *
+     * @return The id (number) of the card drawn.
+     * @throws IllegalStateException if the deck is empty.
+     */
+    public int drawCardId() {
         if (!hasMoreCards()) {
             throw new IllegalStateException("The deck is empty. No cards to draw.");
         }
-        // Removing from the end of an ArrayList is more efficient
-        LoteriaCard drawnCard = remainingCards.remove(remainingCards.size() - 1);
-        calledCards.add(drawnCard);
-        return drawnCard;
+        return order[drawn++];
     }
 
     /**
@@ -70,17 +102,19 @@ public class Deck {
      * @return true if there are one or more cards remaining, false otherwise.
      */
     public boolean hasMoreCards() {
-        return !remainingCards.isEmpty();
+        return drawn < SIZE;
     }
 
     /**
      * Resets the deck for a new game.
-     * All cards are returned to the 'remainingCards' pile, and the pile is re-shuffled.
+     * All cards are returned to the remaining pile, in card-number order, and the pile is
+     * re-shuffled in place.
      */
     public void reset() {
-        calledCards.clear();
-        remainingCards.clear();
-        remainingCards.addAll(this.cards);
+        drawn = 0;
+        for (int i = 0; i < SIZE; i++) {
+            order[i] = (byte) (SIZE - i);
+        }
         shuffle();
     }
 
@@ -91,11 +125,18 @@ public class Deck {
      * @return The LoteriaCard with the specified number, or null if not found.
      */
     public LoteriaCard getCard(int cardNumber) {
-        // Using a stream for a modern, functional approach
-        return cards.stream()
-                .filter(card -> card.getCardNumber() == cardNumber)
-                .findFirst()
-                .orElse(null);
+        // The deck always holds the standard cards, so the shared table answers directly
+        return LoteriaCards.getCardByNumber(cardNumber);
+    }
+
+    /**
+     * Retrieves the deck's cards in a category.
+     *
+     * @param category The category to look up.
+     * @return An immutable list of the cards in that category, in card-number order.
+     */
+    public List<LoteriaCard> getCardsByCategory(CardCategory category) {
+        return LoteriaCards.getCardsByCategory(category);
     }
 
     /**
@@ -104,7 +145,39 @@ public class Deck {
      * @return A List containing all LoteriaCards.
      */
     public List<LoteriaCard> getAllCards() {
-        return Collections.unmodifiableList(this.cards);
+        return LoteriaCards.getAllCards();
+    }
+
+    /**
+     * Returns the cards drawn since the last reset, in draw order.
+     *
+     * @return An unmodifiable, live view of the called cards; it copies nothing.
+     */
+    public List<LoteriaCard> getCalledCards() {
+        return calledCards;
+    }
+
+    /**
+     * Gets the id of a drawn card.
+     *
+     * @param index The position in the draw order, from 0.
+     * @return The id (number) of the card drawn at that position.
+     * @throws IndexOutOfBoundsException if fewer cards have been drawn.
+     */
+    public int getCalledCardId(int index) {
+        if (index < 0 || index >= drawn) {
+            throw new IndexOutOfBoundsException("Call " + index + " out of " + drawn + ".");
+        }
+        return order[index];
+    }
+
+    /**
+     * Gets the number of cards drawn since the last reset.
+     *
+     * @return The count of called cards.
+     */
+    public int getCalledCount() {
+        return drawn;
     }
 
     /**
@@ -113,6 +186,22 @@ public class Deck {
      * @return The count of remaining cards.
      */
     public int getRemainingCount() {
-        return remainingCards.size();
+        return SIZE - drawn;
+    }
+
+    /**
+     * Read-only view of the called prefix that resolves ids to cards on access.
+     */
+    private final class CalledCards extends AbstractList<LoteriaCard> {
+
+        @Override
+        public LoteriaCard get(int index) {
+            return LoteriaCards.getCardByNumber(getCalledCardId(index));
+        }
+
+        @Override
+        public int size() {
+            return drawn;
+        }
     }
-}
\ No newline at end of file
+}
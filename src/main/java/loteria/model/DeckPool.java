@@ -0,0 +1,303 @@
+package loteria.model;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * A bounded pool of pre-shuffled decks, kept full by a background producer thread.
+ * Each entry is a session seed together with everything a game derives from that seed alone:
+ * its split generators and its deck, already shuffled into the call order
+ * {@link LoteriaGame#startGame()} would produce. A game created from an entry skips the
+ * generator setup and both shuffles, and still replays from its seed. Boards are not pooled:
+ * they depend on the players, who only join after the game is created.
+ *
+ * <p>Taking is lock-free: consumers poll a concurrent queue and wake the producer once the
+ * pool drops to half its capacity. When the pool is empty, {@link #newGame(int)} falls back to
+ * an ordinary game, so a burst of starts is never blocked. Hits, misses and how long the
+ * producer takes to refill the pool are recorded.
+ *
+ * <p>If preparing a deck fails, the producer records the failure and stops; see
+ * {@link #getFailure()}. The decks already prepared can still be taken, and games are then
+ * created the ordinary way.
+ */
+public final class DeckPool implements AutoCloseable {
+
+    /** The number of decks kept ready when no capacity is given. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final String randomAlgorithm;
+    private final Queue<PreparedDeck> ready;
+    private final AtomicInteger size;
+    private final RandomGenerator seeds;
+    private final LongFunction<PreparedDeck> preparer;
+    private final Thread producer;
+    private final AtomicBoolean running;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder refills;
+    private final LongAdder refillNanos;
+    private final LongAccumulator maxRefillNanos;
+    private volatile Throwable failure;
+
+    /**
+     * Constructs and starts a pool of {@value #DEFAULT_CAPACITY} decks with random seeds.
+     */
+    public DeckPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs and starts a pool with random seeds and the default random algorithm.
+     *
+     * @param capacity The number of decks kept ready.
+     */
+    public DeckPool(int capacity) {
+        this(capacity, new SplittableRandom().nextLong(), LoteriaGame.DEFAULT_RANDOM_ALGORITHM);
+    }
+
+    /**
+     * Constructs and starts a pool whose sequence of session seeds is reproducible.
+     *
+     * @param capacity        The number of decks kept ready.
+     * @param poolSeed        The seed of the generator that picks session seeds.
+     * @param randomAlgorithm The random algorithm of the games created from this pool.
+     * @throws IllegalArgumentException if the capacity is not positive or the algorithm is not splittable.
+     */
+    public DeckPool(int capacity, long poolSeed, String randomAlgorithm) {
+        this(capacity, poolSeed, randomAlgorithm, sessionSeed -> LoteriaGame.prepare(sessionSeed, randomAlgorithm));
+    }
+
+    /**
+     * Constructs and starts a pool that prepares its decks with the given function.
+     *
+     * @param capacity        The number of decks kept ready.
+     * @param poolSeed        The seed of the generator that picks session seeds.
+     * @param randomAlgorithm The random algorithm of the games created from this pool.
+     * @param preparer        Prepares the deck of a session seed.
+     */
+    DeckPool(int capacity, long poolSeed, String randomAlgorithm, LongFunction<PreparedDeck> preparer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive.");
+        }
+        LoteriaGame.createSessionRandom(0L, randomAlgorithm); // Fail fast on a bad algorithm
+        this.capacity = capacity;
+        this.randomAlgorithm = randomAlgorithm;
+        this.ready = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.seeds = new SplittableRandom(poolSeed);
+        this.preparer = preparer;
+        this.running = new AtomicBoolean(true);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.refills = new LongAdder();
+        this.refillNanos = new LongAdder();
+        this.maxRefillNanos = new LongAccumulator(Math::max, 0);
+        this.producer = new Thread(this::produce, "loteria-deck-pool");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Takes a prepared deck.
+     *
+     * @return A prepared deck, or null if the pool is empty.
+     */
+    public PreparedDeck take() {
+        PreparedDeck deck = ready.poll();
+        if (deck == null) {
+            misses.increment();
+            LockSupport.unpark(producer);
+            return null;
+        }
+        hits.increment();
+        if (size.decrementAndGet() <= capacity / 2) {
+            LockSupport.unpark(producer);
+        }
+        return deck;
+    }
+
+    /**
+     * Creates a game from a prepared deck, or an ordinary game with a random seed if the pool is empty.
+     *
+     * @param maxPlayers The maximum number of players that can join.
+     * @return A new game, not yet started.
+     */
+    public LoteriaGame newGame(int maxPlayers) {
+        PreparedDeck deck = take();
+        return deck == null ? new LoteriaGame(maxPlayers) : new LoteriaGame(maxPlayers, deck);
+    }
+
+    /**
+     * @return The number of decks kept ready.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of decks ready right now.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return The number of takes that found a prepared deck.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of takes that found the pool empty.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The fraction of takes that found a prepared deck, or 0 if there were none.
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * @return The number of times the producer woke up and refilled the pool.
+     */
+    public long getRefillCount() {
+        return refills.sum();
+    }
+
+    /**
+     * @return The mean time, in nanoseconds, from the producer waking up to the pool being full.
+     */
+    public long getMeanRefillNanos() {
+        long n = refills.sum();
+        return n == 0 ? 0 : refillNanos.sum() / n;
+    }
+
+    /**
+     * @return The longest refill, in nanoseconds.
+     */
+    public long getMaxRefillNanos() {
+        return maxRefillNanos.get();
+    }
+
+    /**
+     * @return What stopped the producer, or null if it has not failed.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops the producer. Decks already in the pool can still be taken.
+     */
+    @Override
+    public void close() {
+        if (running.compareAndSet(true, false)) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String stats = String.format("size=%d/%d hits=%d misses=%d hitRate=%.3f refills=%d meanRefill=%.1fµs maxRefill=%.1fµs",
+                getSize(), capacity, getHits(), getMisses(), getHitRate(), getRefillCount(),
+                getMeanRefillNanos() / 1_000.0, getMaxRefillNanos() / 1_000.0);
+        Throwable cause = failure;
+        return cause == null ? stats : stats + " failed=" + cause;
+    }
+
+    /**
+     * Runs the producer loop, and records whatever stops it early.
+     */
+    private void produce() {
+        try {
+            refillUntilClosed();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            running.set(false);
+        }
+    }
+
+    /**
+     * The producer loop: fill the pool, then park until a consumer drains it.
+     */
+    private void refillUntilClosed() {
+        while (running.get()) {
+            if (size.get() < capacity) {
+                long start = System.nanoTime();
+                while (running.get() && size.get() < capacity) {
+                    PreparedDeck deck = preparer.apply(seeds.nextLong());
+                    size.incrementAndGet(); // Never below the queue's real size
+                    ready.offer(deck);
+                }
+                long elapsed = System.nanoTime() - start;
+                refills.increment();
+                refillNanos.add(elapsed);
+                maxRefillNanos.accumulate(elapsed);
+            }
+            LockSupport.park(this);
+        }
+    }
+
+    /**
+     * A session seed with its generators and shuffled deck, ready to become one game.
+     */
+    public static final class PreparedDeck {
+
+        private final long sessionSeed;
+        private final String randomAlgorithm;
+        private final Deck deck;
+        private final RandomGenerator.SplittableGenerator boardRandom;
+        private final Caller caller;
+
+        PreparedDeck(long sessionSeed, String randomAlgorithm, Deck deck,
+                     RandomGenerator.SplittableGenerator boardRandom, Caller caller) {
+            this.sessionSeed = sessionSeed;
+            this.randomAlgorithm = randomAlgorithm;
+            this.deck = deck;
+            this.boardRandom = boardRandom;
+            this.caller = caller;
+        }
+
+        /**
+         * @return The session seed of the game this deck belongs to.
+         */
+        public long getSessionSeed() {
+            return sessionSeed;
+        }
+
+        /**
+         * @return The random algorithm of the game this deck belongs to.
+         */
+        public String getRandomAlgorithm() {
+            return randomAlgorithm;
+        }
+
+        Deck deck() {
+            return deck;
+        }
+
+        RandomGenerator.SplittableGenerator boardRandom() {
+            return boardRandom;
+        }
+
+        Caller caller() {
+            return caller;
+        }
+    }
+}
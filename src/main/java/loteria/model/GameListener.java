@@ -0,0 +1,54 @@
+package loteria.model;
+
+/**
+ * Receives the events of a {@link LoteriaGame} as they happen, e.g. to journal or mirror it.
+ * Setup and call events run on the thread that drives the game; claim events run on the
+ * claiming thread, so implementations must be thread-safe and must not block for long.
+ */
+public interface GameListener {
+
+    /**
+     * Called once the boards have been generated and the game is in progress.
+     *
+     * @param game The game.
+     */
+    default void onGameStarted(LoteriaGame game) {}
+
+    /**
+     * Called after a card has been called and marked on every board.
+     *
+     * @param game       The game.
+     * @param card       The card that was called.
+     * @param callNumber The 1-based number of the call.
+     */
+    default void onCardCalled(LoteriaGame game, LoteriaCard card, int callNumber) {}
+
+    /**
+     * Called for every claim, accepted or not.
+     *
+     * @param game  The game.
+     * @param claim The outcome of the claim.
+     */
+    default void onClaim(LoteriaGame game, ClaimResult claim) {}
+
+    /**
+     * Called when the game is paused.
+     *
+     * @param game The game, now PAUSED.
+     */
+    default void onGamePaused(LoteriaGame game) {}
+
+    /**
+     * Called when a paused game is resumed.
+     *
+     * @param game The game, in progress again.
+     */
+    default void onGameResumed(LoteriaGame game) {}
+
+    /**
+     * Called once when the game ends, with a winner or cancelled.
+     *
+     * @param game The game, already FINISHED or CANCELLED.
+     */
+    default void onGameOver(LoteriaGame game) {}
+}
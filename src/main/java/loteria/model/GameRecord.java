@@ -0,0 +1,240 @@
+package loteria.model;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A compact, binary-encodable record of a finished game, for archives and network payloads.
+ * Where {@link GameResult} holds full Player objects, a record holds only what is needed to
+ * identify and replay the game: the session seed, when it ended and how long it took, the
+ * winner's index among the participants, the winning standard pattern and the called cards.
+ *
+ * <pre>
+ * seed:long endedAt:int durationMs:int winnerIndex:short boardSize:byte patternIndex:byte
+ * callCount:byte calledCards:6bit{callCount}
+ * </pre>
+ *
+ * A record with all 54 cards called takes 62 bytes. Records are read and written in place in
+ * the caller's buffer, and their fields can be read at an absolute index without decoding.
+ */
+public final class GameRecord {
+
+    private static final int SEED = 0;
+    private static final int ENDED_AT = 8;
+    private static final int DURATION = 12;
+    private static final int WINNER = 16;
+    private static final int BOARD_SIZE = 18;
+    private static final int PATTERN = 19;
+    private static final int CALL_COUNT = 20;
+    private static final int CALLED_CARDS = 21;
+
+    /** The size of a record with every card of the deck called. */
+    public static final int MAX_ENCODED_SIZE = CALLED_CARDS + SixBits.bytesFor(LoteriaCards.getAllCards().size());
+
+    private final long sessionSeed;
+    private final long endedAtEpochSecond;
+    private final long durationMs;
+    private final int winnerIndex;
+    private final int boardSize;
+    private final int patternIndex;
+    private final byte[] calledCardNumbers;
+
+    private GameRecord(long sessionSeed, long endedAtEpochSecond, long durationMs, int winnerIndex,
+                       int boardSize, int patternIndex, byte[] calledCardNumbers) {
+        this.sessionSeed = sessionSeed;
+        this.endedAtEpochSecond = endedAtEpochSecond;
+        this.durationMs = durationMs;
+        this.winnerIndex = winnerIndex;
+        this.boardSize = boardSize;
+        this.patternIndex = patternIndex;
+        this.calledCardNumbers = calledCardNumbers;
+    }
+
+    /**
+     * Creates the record of a game, stamped with the current time.
+     *
+     * @param game           The game, normally over.
+     * @param gameDurationMs The total duration of the game in milliseconds.
+     * @return A new GameRecord.
+     */
+    public static GameRecord of(LoteriaGame game, long gameDurationMs) {
+        byte[] called = new byte[game.getCallCount()];
+        for (int i = 0; i < called.length; i++) {
+            called[i] = (byte) game.getCalledCardId(i);
+        }
+
+        int winnerIndex = -1;
+        int boardSize = 0;
+        int patternIndex = -1;
+        ClaimResult claim = game.getWinningClaim();
+        if (claim != null) {
+            winnerIndex = game.getPlayers().indexOf(claim.getPlayer());
+            boardSize = claim.getBoard().getSize();
+            patternIndex = standardPatternIndex(claim.getPattern(), boardSize);
+        }
+        return new GameRecord(game.getSessionSeed(), Instant.now().getEpochSecond(), gameDurationMs,
+                winnerIndex, boardSize, patternIndex, called);
+    }
+
+    /**
+     * Writes the record at the buffer's position and advances the position past it.
+     *
+     * @param out The buffer to write to.
+     */
+    public void write(ByteBuffer out) {
+        int index = out.position();
+        out.putLong(index + SEED, sessionSeed);
+        out.putInt(index + ENDED_AT, (int) endedAtEpochSecond);
+        out.putInt(index + DURATION, (int) Math.min(durationMs, 0xFFFF_FFFFL));
+        out.putShort(index + WINNER, (short) winnerIndex);
+        out.put(index + BOARD_SIZE, (byte) boardSize);
+        out.put(index + PATTERN, (byte) patternIndex);
+        out.put(index + CALL_COUNT, (byte) calledCardNumbers.length);
+        SixBits.write(out, index + CALLED_CARDS, calledCardNumbers);
+        out.position(index + getEncodedSize());
+    }
+
+    /**
+     * Reads a record at the buffer's position and advances the position past it.
+     *
+     * @param in The buffer to read from.
+     * @return The decoded record.
+     * @throws IllegalArgumentException if the record's board size or pattern index is out of range.
+     */
+    public static GameRecord read(ByteBuffer in) {
+        int index = in.position();
+        int boardSize = in.get(index + BOARD_SIZE);
+        int patternIndex = in.get(index + PATTERN);
+        // Size 0 marks a game without a winner; index -1 a winner with a custom pattern
+        if (boardSize < 0 || boardSize > PlayerBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Game record at " + index + " has invalid board size " + boardSize + ".");
+        }
+        int patternCount = boardSize == 0 ? 0 : StandardPatterns.getAllStandardPatterns(boardSize).size();
+        if (patternIndex < -1 || patternIndex >= patternCount) {
+            throw new IllegalArgumentException("Game record at " + index + " has invalid pattern index " + patternIndex
+                    + " for board size " + boardSize + ".");
+        }
+        int callCount = callCountAt(in, index);
+        byte[] called = new byte[callCount];
+        SixBits.read(in, index + CALLED_CARDS, called);
+        GameRecord record = new GameRecord(sessionSeedAt(in, index), Integer.toUnsignedLong(in.getInt(index + ENDED_AT)),
+                Integer.toUnsignedLong(in.getInt(index + DURATION)), winnerIndexAt(in, index),
+                boardSize, patternIndex, called);
+        in.position(index + record.getEncodedSize());
+        return record;
+    }
+
+    /**
+     * @param in    The buffer holding records.
+     * @param index The index of a record's first byte.
+     * @return The size of that record, i.e. the distance to the next one.
+     */
+    public static int encodedSizeAt(ByteBuffer in, int index) {
+        return CALLED_CARDS + SixBits.bytesFor(callCountAt(in, index));
+    }
+
+    /**
+     * @return The session seed of the record at {@code index}.
+     */
+    public static long sessionSeedAt(ByteBuffer in, int index) {
+        return in.getLong(index + SEED);
+    }
+
+    /**
+     * @return The winner's index of the record at {@code index}, or -1 if it has no winner.
+     */
+    public static int winnerIndexAt(ByteBuffer in, int index) {
+        return in.getShort(index + WINNER);
+    }
+
+    /**
+     * @return The number of cards called in the record at {@code index}.
+     */
+    public static int callCountAt(ByteBuffer in, int index) {
+        return in.get(index + CALL_COUNT) & 0xFF;
+    }
+
+    /**
+     * @return The encoded size of this record.
+     */
+    public int getEncodedSize() {
+        return CALLED_CARDS + SixBits.bytesFor(calledCardNumbers.length);
+    }
+
+    /**
+     * @return The seed to replay the game with.
+     */
+    public long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    /**
+     * @return When the record was created, to the second.
+     */
+    public Instant getEndedAt() {
+        return Instant.ofEpochSecond(endedAtEpochSecond);
+    }
+
+    /**
+     * @return The duration of the game in milliseconds.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * @return The index of the winner among the game's players, or -1 if there was no winner.
+     */
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    /**
+     * @return The winning standard pattern, or null if there was no winner or the pattern was custom.
+     */
+    public WinningPattern getWinningPattern() {
+        if (patternIndex < 0 || boardSize <= 0) {
+            return null;
+        }
+        return StandardPatterns.getAllStandardPatterns(boardSize).get(patternIndex);
+    }
+
+    /**
+     * @return The number of cards called.
+     */
+    public int getCallCount() {
+        return calledCardNumbers.length;
+    }
+
+    /**
+     * @return The numbers of the called cards, in call order.
+     */
+    public int[] getCalledCardNumbers() {
+        int[] numbers = new int[calledCardNumbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = calledCardNumbers[i];
+        }
+        return numbers;
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord{seed=" + sessionSeed + ", winner=" + winnerIndex + ", calls=" + calledCardNumbers.length
+                + ", " + durationMs + "ms}";
+    }
+
+    /**
+     * Finds a pattern among the standard patterns of a board size by the cells it covers.
+     */
+    private static int standardPatternIndex(WinningPattern pattern, int boardSize) {
+        List<WinningPattern> standard = StandardPatterns.getAllStandardPatterns(boardSize);
+        for (int i = 0; i < standard.size(); i++) {
+            WinningPattern candidate = standard.get(i);
+            if (candidate.getType() == pattern.getType() && candidate.getCellMask(boardSize) == pattern.getCellMask(boardSize)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
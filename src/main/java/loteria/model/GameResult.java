@@ -15,6 +15,7 @@ public class GameResult {
     private final int totalCardsPlayed;
     private final long gameDurationMs;
     private final LocalDateTime gameDate;
+    private final Long sessionSeed;
 
     /**
      * Constructs a new GameResult.
@@ -27,12 +28,29 @@ public class GameResult {
      * @param gameDurationMs   The total duration of the game in milliseconds.
      */
     public GameResult(Player winner, List<Player> participants, WinningPattern winningPattern, int totalCardsPlayed, long gameDurationMs) {
+        this(winner, participants, winningPattern, totalCardsPlayed, gameDurationMs, null);
+    }
+
+    /**
+     * Constructs a new GameResult that records the session seed the game was played with.
+     * The game date is automatically set to the moment of creation.
+     *
+     * @param winner           The player who won the game. Can be null in case of a draw or cancelled game.
+     * @param participants     The list of all players who participated in the game.
+     * @param winningPattern   The pattern that the winner achieved.
+     * @param totalCardsPlayed The number of cards called before a winner was declared.
+     * @param gameDurationMs   The total duration of the game in milliseconds.
+     * @param sessionSeed      The seed of the game's random generator. Can be null if unknown.
+     */
+    public GameResult(Player winner, List<Player> participants, WinningPattern winningPattern, int totalCardsPlayed,
+                      long gameDurationMs, Long sessionSeed) {
         this.winner = winner;
         this.participants = participants;
         this.winningPattern = winningPattern;
         this.totalCardsPlayed = totalCardsPlayed;
         this.gameDurationMs = gameDurationMs;
         this.gameDate = LocalDateTime.now(); // Set the timestamp upon creation.
+        this.sessionSeed = sessionSeed;
     }
 
     /**
@@ -88,4 +106,14 @@ public class GameResult {
     public LocalDateTime getGameDate() {
         return gameDate;
     }
+
+    /**
+     * Gets the seed of the random generator the game was played with.
+     * Replaying a LoteriaGame with the same seed, algorithm and players reproduces the game.
+     *
+     * @return The session seed, or null if it was not recorded.
+     */
+    public Long getSessionSeed() {
+        return sessionSeed;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package loteria.model;
+
+import java.util.List;
+
+/**
+ * An immutable view of a game at one point in its call sequence.
+ * Snapshots are taken on the thread that drives the game and can be handed to any other
+ * thread (typically a UI) without further synchronization. Board marks are not copied: they
+ * follow from the called-card mask through {@link PlayerBoard#getCalledCellMask(long)}, so a
+ * view draws them as of the snapshot rather than from the live boards.
+ */
+public final class GameSnapshot {
+
+    private final GameState gameState;
+    private final LoteriaCard currentCard;
+    private final List<LoteriaCard> calledCards;
+    private final long calledCardMask;
+    private final int remainingCards;
+    private final ClaimResult winningClaim;
+
+    /**
+     * Constructs a new GameSnapshot.
+     *
+     * @param gameState      The state of the game.
+     * @param currentCard    The last card called, or null if none has been.
+     * @param calledCards    The cards called so far, in call order.
+     * @param calledCardMask The called cards as a card-number bitmask.
+     * @param remainingCards The number of cards left in the deck.
+     * @param winningClaim   The accepted claim, or null if the game has no winner.
+     */
+    public GameSnapshot(GameState gameState, LoteriaCard currentCard, List<LoteriaCard> calledCards,
+                        long calledCardMask, int remainingCards, ClaimResult winningClaim) {
+        this.gameState = gameState;
+        this.currentCard = currentCard;
+        this.calledCards = List.copyOf(calledCards);
+        this.calledCardMask = calledCardMask;
+        this.remainingCards = remainingCards;
+        this.winningClaim = winningClaim;
+    }
+
+    /**
+     * @return The state of the game when the snapshot was taken.
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return The last card called, or null if none has been.
+     */
+    public LoteriaCard getCurrentCard() {
+        return currentCard;
+    }
+
+    /**
+     * @return The cards called so far, in call order.
+     */
+    public List<LoteriaCard> getCalledCards() {
+        return calledCards;
+    }
+
+    /**
+     * @return The number of cards called so far.
+     */
+    public int getCallNumber() {
+        return calledCards.size();
+    }
+
+    /**
+     * @return A bitmask with bit {@code n} set for every card number {@code n} called so far;
+     *         the source of every board's marks as of this snapshot.
+     */
+    public long getCalledCardMask() {
+        return calledCardMask;
+    }
+
+    /**
+     * @return The number of cards left in the deck.
+     */
+    public int getRemainingCards() {
+        return remainingCards;
+    }
+
+    /**
+     * @return The accepted claim, or null if the game has no winner.
+     */
+    public ClaimResult getWinningClaim() {
+        return winningClaim;
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{" + gameState + ", call " + calledCards.size() + ", current=" + currentCard + "}";
+    }
+}
@@ -1,30 +1,99 @@
 package loteria.model;
 
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Tracks and manages statistics across multiple Lotería game sessions.
- * This class is not thread-safe.
+ * Statistics are streamed: every game updates fixed-size counters and histograms, and only the
+ * most recent results are kept, in one bounded ring buffer. Memory therefore stays flat however
+ * many games a long-running server records; the only per-key state is one win counter per
+ * distinct winner.
+ *
+ * <p>This class is thread-safe and built to be shared by every room of a server. Counters are
+ * striped: a recording thread claims one stripe with a single compare-and-set and updates its
+ * plain counters, so threads on different stripes never touch the same cache lines. Each stripe
+ * carries a sequence number that is odd while a game is being recorded; reads merge the stripes
+ * without locking and never block writers, retrying a stripe that changed under them, so they
+ * see each stripe as of its last completed game. The most successful winners are tracked
+ * incrementally, so {@link #getTopWinners(int)} never scans every player.
  */
 public class GameStatistics {
 
-    private int totalGames;
-    private final Map<Player, Integer> playerWins;
-    private final Map<LoteriaCard, Integer> cardFrequency;
-    private final List<GameResult> gameHistory;
+    /** The number of recent results kept when no capacity is given. */
+    public static final int DEFAULT_HISTORY_CAPACITY = 1000;
+
+    /** The number of winners tracked by {@link #getTopWinners(int)}. */
+    public static final int TOP_WINNERS = 16;
+
+    /** Card numbers run from 1 to 54; slot 0 is unused. */
+    private static final int CARD_SLOTS = LoteriaCards.CARD_COUNT + 1;
+
+    /** The bits of a called-card mask that name real cards. */
+    private static final long CARD_ID_MASK = ((1L << CARD_SLOTS) - 1) & ~1L;
+
+    /** Duration bucket {@code i} holds games shorter than 2^i ms; the last bucket holds the rest. */
+    private static final int DURATION_BUCKETS = 32;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int historyCapacity;
+    private final AtomicReferenceArray<GameResult> history;
+    private final AtomicLong historyCursor;
+    private final Map<Player, LongAdder> playerWins;
+    private final AtomicReference<Leader[]> topWinners;
+    private volatile long topWinnersThreshold;
 
     /**
-     * Constructs a new, empty GameStatistics object.
+     * Constructs a new, empty GameStatistics object that keeps the last
+     * {@value #DEFAULT_HISTORY_CAPACITY} results.
      */
     public GameStatistics() {
-        this.totalGames = 0;
-        this.playerWins = new HashMap<>();
-        this.cardFrequency = new HashMap<>();
-        this.gameHistory = new ArrayList<>();
+        this(DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty GameStatistics object striped for the machine's processors.
+     *
+     * @param historyCapacity The number of most recent results to keep; 0 keeps none.
+     */
+    public GameStatistics(int historyCapacity) {
+        this(historyCapacity, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Constructs a new, empty GameStatistics object.
+     *
+     * @param historyCapacity The number of most recent results to keep; 0 keeps none.
+     * @param stripeCount     The number of independent stripes; rounded up to a power of two.
+     */
+    public GameStatistics(int historyCapacity, int stripeCount) {
+        if (historyCapacity < 0) {
+            throw new IllegalArgumentException("History capacity cannot be negative.");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive.");
+        }
+        int count = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+        this.historyCapacity = historyCapacity;
+        this.history = new AtomicReferenceArray<>(historyCapacity);
+        this.historyCursor = new AtomicLong();
+        this.playerWins = new ConcurrentHashMap<>();
+        this.topWinners = new AtomicReference<>(new Leader[0]);
     }
 
     /**
@@ -34,22 +103,41 @@ public class GameStatistics {
      * @param calledCards The list of cards that were called during that game.
      */
     public void recordGame(GameResult result, List<LoteriaCard> calledCards) {
-        if (result == null || calledCards == null) {
+        if (calledCards == null) {
             return; // Do not record null results
         }
+        recordGame(result, PlayerBoard.toCardMask(calledCards));
+    }
 
-        this.totalGames++;
-        this.gameHistory.add(result);
+    /**
+     * Records the result of a completed game from the bitmask of its called card ids, as kept
+     * by {@link LoteriaGame#getCalledCardMask()}. A card is called at most once per game, so the
+     * mask carries both the card frequencies and the game length.
+     *
+     * @param result         The GameResult object from the finished game.
+     * @param calledCardMask A mask with bit {@code n} set for every card id {@code n} called.
+     */
+    public void recordGame(GameResult result, long calledCardMask) {
+        if (result == null) {
+            return; // Do not record null results
+        }
+
+        Stripe stripe = acquireStripe();
+        try {
+            stripe.record(result, calledCardMask);
+        } finally {
+            stripe.release();
+        }
+        if (historyCapacity > 0) {
+            history.set((int) (historyCursor.getAndIncrement() % historyCapacity), result);
+        }
 
         // Update winner's score
         Player winner = result.getWinner();
         if (winner != null) {
-            playerWins.put(winner, playerWins.getOrDefault(winner, 0) + 1);
-        }
-
-        // Update card frequency count for all cards called in the game
-        for (LoteriaCard card : calledCards) {
-            cardFrequency.put(card, cardFrequency.getOrDefault(card, 0) + 1);
+            LongAdder wins = playerWins.computeIfAbsent(winner, key -> new LongAdder());
+            wins.increment();
+            offerTopWinner(winner, wins);
         }
     }
 
@@ -60,7 +148,8 @@ public class GameStatistics {
      * @return The number of times the player has won.
      */
     public int getPlayerWins(Player player) {
-        return playerWins.getOrDefault(player, 0);
+        LongAdder wins = playerWins.get(player);
+        return wins == null ? 0 : (int) wins.sum();
     }
 
     /**
@@ -69,7 +158,27 @@ public class GameStatistics {
      * @return The total number of games played.
      */
     public int getTotalGames() {
-        return totalGames;
+        return (int) sum(Stripe.GAMES);
+    }
+
+    /**
+     * Gets how many times a card has been called across all games.
+     *
+     * @param card The card to check.
+     * @return The number of games in which the card was called.
+     */
+    public long getCardFrequency(LoteriaCard card) {
+        return getCardFrequency(card.getCardNumber());
+    }
+
+    /**
+     * Gets how many times a card id has been called across all games.
+     *
+     * @param cardId The id (number) of the card to check.
+     * @return The number of games in which the card was called.
+     */
+    public long getCardFrequency(int cardId) {
+        return cardId > 0 && cardId < CARD_SLOTS ? sum(Stripe.CARDS + cardId) : 0;
     }
 
     /**
@@ -78,11 +187,45 @@ public class GameStatistics {
      * @return The most frequently called LoteriaCard, or null if no games have been played.
      */
     public LoteriaCard getMostCalledCard() {
-        if (cardFrequency.isEmpty()) {
-            return null;
+        List<LoteriaCard> top = getTopCards(1);
+        return top.isEmpty() ? null : top.get(0);
+    }
+
+    /**
+     * Finds the most frequently called cards. With only 54 cards, merging their counters on
+     * read is cheaper than maintaining an ordered structure on every write.
+     *
+     * @param k The number of cards to return.
+     * @return Up to {@code k} cards that have been called, most frequent first.
+     */
+    public List<LoteriaCard> getTopCards(int k) {
+        long[] frequency = merge(Stripe.CARDS, CARD_SLOTS);
+        Integer[] cardNumbers = new Integer[CARD_SLOTS - 1];
+        for (int i = 0; i < cardNumbers.length; i++) {
+            cardNumbers[i] = i + 1;
+        }
+        Arrays.sort(cardNumbers, Comparator.comparingLong((Integer n) -> frequency[n]).reversed());
+        List<LoteriaCard> top = new ArrayList<>(Math.min(k, cardNumbers.length));
+        for (int i = 0; i < cardNumbers.length && top.size() < k && frequency[cardNumbers[i]] > 0; i++) {
+            top.add(LoteriaCards.getCardByNumber(cardNumbers[i]));
         }
+        return top;
+    }
 
-        return Collections.max(cardFrequency.entrySet(), Map.Entry.comparingByValue()).getKey();
+    /**
+     * Finds the players with the most wins, from the incrementally maintained leaderboard.
+     *
+     * @param k The number of players to return, at most {@value #TOP_WINNERS}.
+     * @return Up to {@code k} players, most wins first.
+     */
+    public List<Player> getTopWinners(int k) {
+        Leader[] leaders = topWinners.get().clone();
+        Arrays.sort(leaders, Comparator.comparingLong((Leader leader) -> leader.wins.sum()).reversed());
+        List<Player> top = new ArrayList<>(Math.min(k, leaders.length));
+        for (int i = 0; i < leaders.length && i < k; i++) {
+            top.add(leaders[i].player);
+        }
+        return top;
     }
 
     /**
@@ -92,11 +235,101 @@ public class GameStatistics {
      * @return The player's win rate as a double (e.g., 0.5 for 50%).
      */
     public double getWinRate(Player player) {
-        if (totalGames == 0) {
+        long games = sum(Stripe.GAMES);
+        if (games == 0) {
             return 0.0;
         }
         double wins = getPlayerWins(player);
-        return wins / totalGames;
+        return wins / games;
+    }
+
+    /**
+     * Gets the distribution of game lengths.
+     *
+     * @return An array where index {@code n} holds the number of games that called {@code n} cards.
+     */
+    public long[] getGameLengthHistogram() {
+        return merge(Stripe.LENGTHS, CARD_SLOTS);
+    }
+
+    /**
+     * Gets the average number of cards called per game.
+     *
+     * @return The mean game length, or 0 if no games have been played.
+     */
+    public double getMeanGameLength() {
+        long[] lengths = getGameLengthHistogram();
+        long games = 0;
+        long cards = 0;
+        for (int length = 0; length < lengths.length; length++) {
+            games += lengths[length];
+            cards += lengths[length] * length;
+        }
+        return games == 0 ? 0.0 : (double) cards / games;
+    }
+
+    /**
+     * Gets the distribution of game durations in power-of-two buckets.
+     *
+     * @return An array where index {@code i} holds the number of games that lasted less than
+     *         2^i ms (and at least 2^(i-1) ms); the last index holds every longer game.
+     */
+    public long[] getDurationHistogram() {
+        return merge(Stripe.DURATIONS, DURATION_BUCKETS);
+    }
+
+    /**
+     * Gets the average game duration.
+     *
+     * @return The mean duration in milliseconds, or 0 if no games have been played.
+     */
+    public double getMeanDurationMs() {
+        long games = sum(Stripe.GAMES);
+        return games == 0 ? 0.0 : (double) sum(Stripe.TOTAL_DURATION) / games;
+    }
+
+    /**
+     * Estimates a duration percentile from the histogram, accurate to a factor of two.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper edge of the bucket holding that percentile, in milliseconds.
+     */
+    public long getDurationPercentileMs(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long[] counts = getDurationHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return 1L << bucket;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the most recent results, oldest first, up to the history capacity. Games recorded
+     * while this runs may replace the oldest entries or be left out.
+     *
+     * @return A new list of recent results.
+     */
+    public List<GameResult> getRecentGames() {
+        long end = historyCursor.get();
+        List<GameResult> recent = new ArrayList<>((int) Math.min(end, historyCapacity));
+        for (long i = Math.max(0, end - historyCapacity); i < end; i++) {
+            GameResult result = history.get((int) (i % historyCapacity));
+            if (result != null) { // Slot claimed but not written yet
+                recent.add(result);
+            }
+        }
+        return recent;
     }
 
     /**
@@ -107,15 +340,15 @@ public class GameStatistics {
     public String exportStatistics() {
         StringBuilder report = new StringBuilder();
         report.append("--- Lotería Statistics ---\n");
-        report.append("Total Games Played: ").append(totalGames).append("\n\n");
+        report.append("Total Games Played: ").append(getTotalGames()).append("\n\n");
 
         report.append("Player Win Counts:\n");
         if (playerWins.isEmpty()) {
             report.append("  No wins recorded yet.\n");
         } else {
-            for (Map.Entry<Player, Integer> entry : playerWins.entrySet()) {
+            for (Map.Entry<Player, LongAdder> entry : playerWins.entrySet()) {
                 report.append("  - ").append(entry.getKey().getName())
-                      .append(": ").append(entry.getValue()).append(" wins\n");
+                      .append(": ").append(entry.getValue().sum()).append(" wins\n");
             }
         }
 
@@ -123,12 +356,194 @@ public class GameStatistics {
         report.append("\nMost Frequently Called Card:\n");
         if (mostCalled != null) {
             report.append("  ").append(mostCalled.getName())
-                  .append(" (called ").append(cardFrequency.get(mostCalled)).append(" times)\n");
+                  .append(" (called ").append(getCardFrequency(mostCalled)).append(" times)\n");
         } else {
             report.append("  No cards have been called yet.\n");
         }
-        
+
+        if (getTotalGames() > 0) {
+            report.append(String.format("%nAverage Game Length: %.1f cards%n", getMeanGameLength()));
+            report.append(String.format("Average Game Duration: %.1f s (p90 under %.1f s)%n",
+                    getMeanDurationMs() / 1000.0, getDurationPercentileMs(90) / 1000.0));
+        }
+
         report.append("--------------------------\n");
         return report.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Claims a stripe for the current thread, probing onward if another thread holds it.
+     */
+    private Stripe acquireStripe() {
+        int index = System.identityHashCode(Thread.currentThread());
+        while (true) {
+            Stripe stripe = stripes[index & stripeMask];
+            if (stripe.tryAcquire()) {
+                return stripe;
+            }
+            index++;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Admits a winner to the leaderboard if they now beat its weakest member. Members' counts
+     * only grow, so the cached threshold is a lower bound and most wins skip this entirely.
+     */
+    private void offerTopWinner(Player winner, LongAdder wins) {
+        long count = wins.sum();
+        Leader[] current = topWinners.get();
+        if (current.length == TOP_WINNERS && count <= topWinnersThreshold) {
+            return;
+        }
+        while (true) {
+            for (Leader leader : current) {
+                if (leader.wins == wins) {
+                    return; // Already on the board; its live counter keeps it up to date
+                }
+            }
+            Leader[] next;
+            if (current.length < TOP_WINNERS) {
+                next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = new Leader(winner, wins);
+            } else {
+                int weakest = 0;
+                for (int i = 1; i < current.length; i++) {
+                    if (current[i].wins.sum() < current[weakest].wins.sum()) {
+                        weakest = i;
+                    }
+                }
+                if (count <= current[weakest].wins.sum()) {
+                    topWinnersThreshold = current[weakest].wins.sum();
+                    return;
+                }
+                next = current.clone();
+                next[weakest] = new Leader(winner, wins);
+            }
+            if (topWinners.compareAndSet(current, next)) {
+                if (next.length == TOP_WINNERS) {
+                    long threshold = Long.MAX_VALUE;
+                    for (Leader leader : next) {
+                        threshold = Math.min(threshold, leader.wins.sum());
+                    }
+                    topWinnersThreshold = threshold;
+                }
+                return;
+            }
+            current = topWinners.get();
+        }
+    }
+
+    private long sum(int offset) {
+        return merge(offset, 1)[0];
+    }
+
+    private long[] merge(int offset, int length) {
+        long[] merged = new long[length];
+        long[] copy = new long[length];
+        for (Stripe stripe : stripes) {
+            stripe.read(offset, copy);
+            for (int i = 0; i < length; i++) {
+                merged[i] += copy[i];
+            }
+        }
+        return merged;
+    }
+
+    private static int durationBucket(long durationMs) {
+        int bucket = Long.SIZE - Long.numberOfLeadingZeros(durationMs);
+        return Math.min(bucket, DURATION_BUCKETS - 1);
+    }
+
+    /**
+     * One shard of the counters, written by one thread at a time. All counters share a single
+     * array, padded at both ends so neighbouring stripes do not share cache lines. The sequence
+     * number is both the writers' lock and the readers' seqlock.
+     */
+    private static final class Stripe {
+
+        private static final int PADDING = 8;
+        static final int CARDS = PADDING;
+        static final int LENGTHS = CARDS + CARD_SLOTS;
+        static final int DURATIONS = LENGTHS + CARD_SLOTS;
+        static final int GAMES = DURATIONS + DURATION_BUCKETS;
+        static final int TOTAL_DURATION = GAMES + 1;
+        private static final int SIZE = TOTAL_DURATION + 1 + PADDING;
+
+        /** Odd while a game is being recorded; advances by two per game. */
+        private final AtomicLong sequence;
+        private final long[] counters;
+
+        Stripe() {
+            this.sequence = new AtomicLong();
+            this.counters = new long[SIZE];
+        }
+
+        /**
+         * Claims the stripe for recording one game.
+         *
+         * @return true if the calling thread now holds the stripe.
+         */
+        boolean tryAcquire() {
+            long current = sequence.get();
+            return (current & 1) == 0 && sequence.compareAndSet(current, current + 1);
+        }
+
+        /**
+         * Publishes the recorded game and frees the stripe. Only called by the holding thread.
+         */
+        void release() {
+            sequence.set(sequence.get() + 1);
+        }
+
+        /**
+         * Copies counters as of the last completed game, retrying if one is recorded meanwhile.
+         *
+         * @param offset The first counter to copy.
+         * @param into   Receives {@code into.length} counters.
+         */
+        void read(int offset, long[] into) {
+            while (true) {
+                long before = sequence.get();
+                if ((before & 1) == 0) {
+                    System.arraycopy(counters, offset, into, 0, into.length);
+                    VarHandle.acquireFence(); // Keep the copy ahead of the validating read
+                    if (sequence.get() == before) {
+                        return;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * Adds one game. Only called by the thread holding the stripe.
+         */
+        void record(GameResult result, long calledCardMask) {
+            long cards = calledCardMask & CARD_ID_MASK;
+            counters[LENGTHS + Long.bitCount(cards)]++;
+            while (cards != 0L) {
+                counters[CARDS + Long.numberOfTrailingZeros(cards)]++;
+                cards &= cards - 1;
+            }
+            long durationMs = Math.max(0, result.getGameDuration());
+            counters[DURATIONS + durationBucket(durationMs)]++;
+            counters[TOTAL_DURATION] += durationMs;
+            counters[GAMES]++;
+        }
+    }
+
+    /**
+     * A leaderboard entry: a player and their live win counter.
+     */
+    private static final class Leader {
+
+        final Player player;
+        final LongAdder wins;
+
+        Leader(Player player, LongAdder wins) {
+            this.player = player;
+            this.wins = wins;
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package loteria.model;
 
-import java.util.Objects;
-
 /**
  * Represents a single, immutable Lotería card.
  * Each card has a unique number, a name, a riddle, and belongs to a category.
+ * The card number doubles as the card's id: the standard cards are canonical singletons in
+ * {@link LoteriaCards}, and hot paths pass ids around instead of LoteriaCard objects.
  * This class properly overrides equals() and hashCode() based on the unique card number.
  */
 public class LoteriaCard {
@@ -39,6 +39,13 @@ public class LoteriaCard {
         return cardNumber;
     }
 
+    /**
+     * @return The card's id, which is its number as a byte.
+     */
+    public byte getId() {
+        return (byte) cardNumber;
+    }
+
     /**
      * @return The card's name in English.
      */
@@ -95,12 +102,12 @@ public class LoteriaCard {
 
     /**
      * Generates a hash code for the LoteriaCard.
-     * The hash code is based solely on the unique card number.
+     * The hash code is the unique card number itself, so hashing never allocates.
      *
      * @return The hash code value for this object.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(cardNumber);
+        return cardNumber;
     }
 }
\ No newline at end of file
@@ -1,21 +1,33 @@
 package loteria.model;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * A utility class that acts as a factory and repository for the 54 standard Lotería cards.
- * Option 1 implementation: keep a stable, ordered List of all cards and build a lookup Map from it.
- * This guarantees getAllCards() always returns 54 non-null cards in a deterministic order.
+ * Keeps a stable, ordered List of all cards and, built from it once, a dense table indexed by
+ * card number plus per-category lists and card-number bitmasks. This guarantees getAllCards()
+ * always returns 54 non-null cards in a deterministic order, and every lookup is O(1) and
+ * allocation-free.
  */
 public final class LoteriaCards {
 
+    /** The number of cards; card ids (numbers) run from 1 to this value. */
+    public static final int CARD_COUNT = 54;
+
     /** Ordered, immutable list of all 54 cards. */
     private static final List<LoteriaCard> ALL_CARDS;
 
-    /** Fast lookup by card number (1..54). */
-    private static final Map<Integer, LoteriaCard> CARD_MAP;
+    /** Dense lookup by card number (1..54); slot 0 is empty. */
+    private static final LoteriaCard[] CARD_TABLE;
+
+    /** Immutable list of the cards in each category, in card-number order. */
+    private static final Map<CardCategory, List<LoteriaCard>> CARDS_BY_CATEGORY;
+
+    /** Card-number bitmask per category, indexed by ordinal. */
+    private static final long[] CATEGORY_MASKS;
 
     // --- Public static constants for convenient access to popular cards ---
     public static final LoteriaCard EL_GALLO;
@@ -86,17 +98,28 @@ public final class LoteriaCards {
             new LoteriaCard(54, "The Frog",        "La Rana",        "Al ver a la suegra, pegó un brinco de rana.",                          CardCategory.ANIMALS)
         );
 
-        // Build immutable lookup map (cardNumber -> card)
-        CARD_MAP = ALL_CARDS.stream()
-                .collect(Collectors.toUnmodifiableMap(LoteriaCard::getCardNumber, c -> c));
+        // Build the dense table (cardNumber -> card) and the category indexes
+        CARD_TABLE = new LoteriaCard[CARD_COUNT + 1];
+        CATEGORY_MASKS = new long[CardCategory.values().length];
+        Map<CardCategory, List<LoteriaCard>> byCategory = new EnumMap<>(CardCategory.class);
+        for (CardCategory category : CardCategory.values()) {
+            byCategory.put(category, new ArrayList<>());
+        }
+        for (LoteriaCard card : ALL_CARDS) {
+            CARD_TABLE[card.getCardNumber()] = card;
+            CATEGORY_MASKS[card.getCategory().ordinal()] |= 1L << card.getCardNumber();
+            byCategory.get(card.getCategory()).add(card);
+        }
+        byCategory.replaceAll((category, cards) -> List.copyOf(cards));
+        CARDS_BY_CATEGORY = byCategory;
 
         // Initialize constants
-        EL_GALLO = CARD_MAP.get(1);
-        EL_DIABLO = CARD_MAP.get(2);
-        LA_DAMA = CARD_MAP.get(3);
-        EL_CATRIN = CARD_MAP.get(4);
-        LA_SIRENA = CARD_MAP.get(6);
-        LA_CALAVERA = CARD_MAP.get(42);
+        EL_GALLO = CARD_TABLE[1];
+        EL_DIABLO = CARD_TABLE[2];
+        LA_DAMA = CARD_TABLE[3];
+        EL_CATRIN = CARD_TABLE[4];
+        LA_SIRENA = CARD_TABLE[6];
+        LA_CALAVERA = CARD_TABLE[42];
     }
 
     /** @return immutable ordered list of all 54 cards */
@@ -106,13 +129,21 @@ public final class LoteriaCards {
 
     /** @return card by number, or null if out of range */
     public static LoteriaCard getCardByNumber(int number) {
-        return CARD_MAP.get(number);
+        return isCardId(number) ? CARD_TABLE[number] : null;
     }
 
-    /** @return immutable list of cards in the given category */
+    /** @return true if the id (card number) names one of the 54 cards */
+    public static boolean isCardId(int id) {
+        return id >= 1 && id <= CARD_COUNT;
+    }
+
+    /** @return immutable list of cards in the given category; empty for null */
     public static List<LoteriaCard> getCardsByCategory(CardCategory category) {
-        return ALL_CARDS.stream()
-                .filter(c -> c.getCategory() == category)
-                .collect(Collectors.toUnmodifiableList());
+        return category == null ? List.of() : CARDS_BY_CATEGORY.getOrDefault(category, List.of());
+    }
+
+    /** @return bitmask with bit {@code n} set for every card number {@code n} in the given category; 0 for null */
+    public static long getCategoryMask(CardCategory category) {
+        return category == null ? 0L : CATEGORY_MASKS[category.ordinal()];
     }
 }
@@ -5,33 +5,183 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjIntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * The main orchestrator for the Lotería game.
  * This class manages the game state, players, deck, and caller, and enforces the game rules.
+ * All randomness comes from one seeded session generator that is split per subsystem
+ * (deck, board generation, caller), so a game can be replayed exactly from its seed.
+ *
+ * <p>Setup and card calls are single-threaded. Claims may arrive from any thread: each one is
+ * checked against an immutable snapshot of the called cards (a bitmask), and the first valid
+ * claim wins by a single compare-and-set on the game state.
+ *
+ * <p>Internally cards are handled by id (card number): the call sequence is the drawn prefix
+ * of the deck's permutation and every hot path (calls, marking, claims) works on ids and
+ * bitmasks. The LoteriaCard-based methods resolve ids to the canonical cards of
+ * {@link LoteriaCards} for views and listeners.
  */
 public class LoteriaGame {
 
+    /** The random algorithm used when none is specified. */
+    public static final String DEFAULT_RANDOM_ALGORITHM = "L64X128MixRandom";
+
+    private final long sessionSeed;
+    private final String randomAlgorithm;
+    private final RandomGenerator.SplittableGenerator boardRandom;
     private final Deck deck;
     private final List<Player> players;
     private final Caller caller;
-    private GameState gameState;
+    private final AtomicReference<GameState> gameState;
     private final List<WinningPattern> patterns;
-    private LoteriaCard currentCard;
-    private final List<LoteriaCard> calledCards;
+    private volatile long calledCardMask;
     private final int maxPlayers;
-    private Player winner;
+    private volatile ClaimResult winningClaim;
+    private CardIndex cardIndex;
+    private boolean autoDetectWinners;
+    private WinDetector winDetector;
+    private List<PatternCompletion> lastCompletions;
+    private final List<GameListener> listeners;
+    /** True while the deck holds a call order shuffled ahead of time by a {@link DeckPool}. */
+    private boolean deckPrepared;
 
+    /**
+     * Constructs a new game with a random session seed.
+     *
+     * @param maxPlayers The maximum number of players that can join.
+     */
     public LoteriaGame(int maxPlayers) {
+        this(maxPlayers, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a new game whose randomness is fully determined by the given seed.
+     *
+     * @param maxPlayers  The maximum number of players that can join.
+     * @param sessionSeed The seed for the session generator.
+     */
+    public LoteriaGame(int maxPlayers, long sessionSeed) {
+        this(maxPlayers, sessionSeed, DEFAULT_RANDOM_ALGORITHM);
+    }
+
+    /**
+     * Constructs a new game whose randomness is determined by the given seed and algorithm.
+     *
+     * @param maxPlayers      The maximum number of players that can join.
+     * @param sessionSeed     The seed for the session generator.
+     * @param randomAlgorithm The name of a splittable {@link RandomGeneratorFactory} algorithm,
+     *                        such as "L64X128MixRandom" or "SplittableRandom".
+     * @throws IllegalArgumentException if the algorithm is unknown or not splittable.
+     */
+    public LoteriaGame(int maxPlayers, long sessionSeed, String randomAlgorithm) {
+        this(maxPlayers, sessionSeed, randomAlgorithm, createSessionRandom(sessionSeed, randomAlgorithm), null);
+    }
+
+    /**
+     * Constructs a new game from a deck prepared by a {@link DeckPool}. The game takes the
+     * deck's seed and generators, which were split and shuffled exactly as for a game built from
+     * that seed, so starting it skips the shuffles and the game still replays from its seed.
+     *
+     * @param maxPlayers   The maximum number of players that can join.
+     * @param preparedDeck The prepared deck; it must not be used for another game.
+     */
+    public LoteriaGame(int maxPlayers, DeckPool.PreparedDeck preparedDeck) {
+        this(maxPlayers, preparedDeck.getSessionSeed(), preparedDeck.getRandomAlgorithm(), null, preparedDeck);
+    }
+
+    private LoteriaGame(int maxPlayers, long sessionSeed, String randomAlgorithm,
+                        RandomGenerator.SplittableGenerator sessionRandom, DeckPool.PreparedDeck prepared) {
+        this.sessionSeed = sessionSeed;
+        this.randomAlgorithm = randomAlgorithm;
         this.maxPlayers = maxPlayers;
-        this.deck = new Deck();
-        this.caller = new Caller(deck);
+        if (prepared != null) {
+            this.deck = prepared.deck();
+            this.boardRandom = prepared.boardRandom();
+            this.caller = prepared.caller();
+            this.deckPrepared = true;
+        } else {
+            // The split order (deck, boards, caller) is part of the replay format
+            this.deck = new Deck(sessionRandom.split());
+            this.boardRandom = sessionRandom.split();
+            this.caller = new Caller(deck, sessionRandom.split());
+        }
         this.players = new ArrayList<>();
         this.patterns = new ArrayList<>();
-        this.calledCards = new ArrayList<>();
-        this.gameState = GameState.WAITING_FOR_PLAYERS;
-        this.winner = null;
-        this.currentCard = null;
+        this.gameState = new AtomicReference<>(GameState.WAITING_FOR_PLAYERS);
+        this.winningClaim = null;
+        this.lastCompletions = Collections.emptyList();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Creates the session generator of a game.
+     *
+     * @throws IllegalArgumentException if the algorithm is unknown or not splittable.
+     */
+    static RandomGenerator.SplittableGenerator createSessionRandom(long sessionSeed, String randomAlgorithm) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(randomAlgorithm);
+        if (!factory.isSplittable()) {
+            throw new IllegalArgumentException("Random algorithm must be splittable: " + randomAlgorithm);
+        }
+        return (RandomGenerator.SplittableGenerator) factory.create(sessionSeed);
+    }
+
+    /**
+     * Does ahead of time everything the constructor and {@link #startGame()} derive from a
+     * seed alone: splitting the session generator and shuffling the deck for the caller.
+     *
+     * @return The prepared deck, in the state a started game with that seed has.
+     */
+    static DeckPool.PreparedDeck prepare(long sessionSeed, String randomAlgorithm) {
+        RandomGenerator.SplittableGenerator sessionRandom = createSessionRandom(sessionSeed, randomAlgorithm);
+        Deck deck = new Deck(sessionRandom.split());
+        RandomGenerator.SplittableGenerator boardRandom = sessionRandom.split();
+        Caller caller = new Caller(deck, sessionRandom.split());
+        deck.reset(); // Before board generation
+        deck.reset(); // For the caller
+        return new DeckPool.PreparedDeck(sessionSeed, randomAlgorithm, deck, boardRandom, caller);
+    }
+
+    /**
+     * @return The seed of the session generator; record it to replay this game.
+     */
+    public long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    /**
+     * @return The name of the random algorithm used by this game.
+     */
+    public String getRandomAlgorithm() {
+        return randomAlgorithm;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    /**
+     * Registers a listener for game events.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
     }
 
     public Deck getDeck() {
@@ -39,7 +189,7 @@ public class LoteriaGame {
     }
 
     public void addPlayer(Player player) throws LoteriaException {
-        if (gameState != GameState.WAITING_FOR_PLAYERS) {
+        if (gameState.get() != GameState.WAITING_FOR_PLAYERS) {
             throw new LoteriaException("Cannot add players after the game has started.");
         }
         if (players.size() >= maxPlayers) {
@@ -48,6 +198,28 @@ public class LoteriaGame {
         players.add(player);
     }
 
+    /**
+     * Enables or disables automatic winner detection.
+     * When enabled, every call reports the boards that just completed a standard pattern
+     * through {@link #getLastCompletions()}. Claims still go through {@link #validateWin}.
+     *
+     * @param autoDetectWinners true to track pattern completion on every call.
+     * @throws LoteriaException if the game has already started.
+     */
+    public void setAutoDetectWinners(boolean autoDetectWinners) throws LoteriaException {
+        if (gameState.get() != GameState.WAITING_FOR_PLAYERS) {
+            throw new LoteriaException("Winner detection must be configured before the game starts.");
+        }
+        this.autoDetectWinners = autoDetectWinners;
+    }
+
+    /**
+     * @return true if the game tracks pattern completion on every call.
+     */
+    public boolean isAutoDetectWinners() {
+        return autoDetectWinners;
+    }
+
     /**
      * Starts the game.
      * This shuffles the deck, generates boards for all players, and moves the state to IN_PROGRESS.
@@ -55,79 +227,342 @@ public class LoteriaGame {
      * @throws LoteriaException if there are no players or the game has already started.
      */
     public void startGame() throws LoteriaException {
-        if (gameState != GameState.WAITING_FOR_PLAYERS) {
+        if (gameState.get() != GameState.WAITING_FOR_PLAYERS) {
             throw new LoteriaException("The game has already started or is finished.");
         }
         if (players.isEmpty()) {
             throw new LoteriaException("Cannot start a game with no players.");
         }
 
-        // Reset the deck to ensure it's fresh
-        deck.reset();
+        // Reset the deck to ensure it's fresh, unless it was shuffled ahead of time
+        boolean prepared = deckPrepared;
+        if (!prepared) {
+            deck.reset();
+        }
 
-        // Generate boards for all players
+        // Generate boards for all players in bulk
+        List<PlayerBoard> allBoards = new ArrayList<>();
         for (Player player : players) {
-            for (PlayerBoard board : player.getBoards()) {
-                board.generateBoard(this.deck);
-            }
+            allBoards.addAll(player.getBoards());
+        }
+        BoardGenerator.generateAll(allBoards, deck.getAllCards(), boardRandom);
+
+        // Index which boards hold each card so calls only touch the boards they hit
+        this.cardIndex = CardIndex.build(players);
+        if (autoDetectWinners) {
+            this.winDetector = new WinDetector(cardIndex);
         }
 
         // Reset the deck again for the caller to use during the game
-        deck.reset();
+        if (!prepared) {
+            deck.reset();
+        }
+        deckPrepared = false;
 
-        this.gameState = GameState.IN_PROGRESS;
+        gameState.set(GameState.IN_PROGRESS);
+        for (GameListener listener : listeners) {
+            listener.onGameStarted(this);
+        }
     }
 
     public LoteriaCard callNextCard() throws LoteriaException {
-        if (gameState != GameState.IN_PROGRESS) {
+        return LoteriaCards.getCardByNumber(callNextCardId());
+    }
+
+    /**
+     * Calls the next card, marking it on every board that holds it.
+     *
+     * @return The id (number) of the called card.
+     * @throws LoteriaException if the game is not in progress or the deck is empty.
+     */
+    public int callNextCardId() throws LoteriaException {
+        if (gameState.get() != GameState.IN_PROGRESS) {
             throw new LoteriaException("Game is not currently in progress.");
         }
         if (!caller.hasMoreCards()) {
             throw new LoteriaException("The deck is empty!");
         }
 
-        this.currentCard = caller.callCard();
-        this.calledCards.add(currentCard);
+        int cardId = caller.callCardId();
+        int callCount = deck.getCalledCount();
+        this.calledCardMask |= 1L << cardId;
 
-        for (Player player : players) {
-            player.markCard(currentCard);
+        cardIndex.markAll(cardId);
+        if (winDetector != null) {
+            this.lastCompletions = winDetector.onCardCalled(cardId, callCount);
+        }
+        if (!listeners.isEmpty()) {
+            LoteriaCard card = LoteriaCards.getCardByNumber(cardId);
+            for (GameListener listener : listeners) {
+                listener.onCardCalled(this, card, callCount);
+            }
         }
 
-        return currentCard;
+        return cardId;
     }
 
+    /**
+     * Validates a player's claim and, if it is the first valid one, declares the player the winner.
+     *
+     * @param player  The claiming player.
+     * @param pattern The claimed pattern.
+     * @return true if the claim won the game, false otherwise.
+     */
     public boolean validateWin(Player player, WinningPattern pattern) {
-        if (gameState != GameState.IN_PROGRESS) {
-            return false;
+        return claimWin(player, pattern).isAccepted();
+    }
+
+    /**
+     * Validates a claim against the current snapshot of called cards. Safe to call from many
+     * threads at once, concurrently with card calls: exactly one valid claim is ever accepted.
+     *
+     * @param player  The claiming player.
+     * @param pattern The claimed pattern.
+     * @return The outcome of the claim, stamped with the call sequence it was validated against.
+     */
+    public ClaimResult claimWin(Player player, WinningPattern pattern) {
+        ClaimResult result = decideClaim(player, pattern);
+        for (GameListener listener : listeners) {
+            listener.onClaim(this, result);
         }
+        if (result.isAccepted()) {
+            fireGameOver();
+        }
+        return result;
+    }
 
+    private ClaimResult decideClaim(Player player, WinningPattern pattern) {
+        long snapshot = this.calledCardMask;
+        int callSequence = Long.bitCount(snapshot);
+        GameState state = gameState.get();
+        // A finished game still validates claims, so a late valid claim is told it was too late
+        if (!isOpenForClaims(state) && state != GameState.FINISHED) {
+            return new ClaimResult(ClaimResult.Status.NOT_IN_PROGRESS, player, pattern, null, callSequence);
+        }
+
+        PlayerBoard winningBoard = null;
         for (PlayerBoard board : player.getBoards()) {
-            if (board.checkPattern(pattern, this.calledCards)) {
-                this.winner = player;
-                this.gameState = GameState.FINISHED;
-                return true;
+            if (board.checkPattern(pattern, snapshot)) {
+                winningBoard = board;
+                break;
             }
         }
+        if (winningBoard == null) {
+            return new ClaimResult(ClaimResult.Status.REJECTED, player, pattern, null, callSequence);
+        }
 
-        return false;
+        ClaimResult accepted = new ClaimResult(ClaimResult.Status.ACCEPTED, player, pattern, winningBoard, callSequence);
+        // A paused game still accepts claims for the cards already called
+        GameState current = gameState.get();
+        while (isOpenForClaims(current)) {
+            if (gameState.compareAndSet(current, GameState.FINISHED)) {
+                this.winningClaim = accepted;
+                return accepted;
+            }
+            current = gameState.get();
+        }
+        ClaimResult.Status status = current == GameState.FINISHED ? ClaimResult.Status.TOO_LATE : ClaimResult.Status.NOT_IN_PROGRESS;
+        return new ClaimResult(status, player, pattern, winningBoard, callSequence);
+    }
+
+    /**
+     * Stops card calls until {@link #resumeGame()}. Claims are still accepted while paused.
+     *
+     * @throws LoteriaException if the game is not in progress.
+     */
+    public void pauseGame() throws LoteriaException {
+        if (!gameState.compareAndSet(GameState.IN_PROGRESS, GameState.PAUSED)) {
+            throw new LoteriaException("Only a game in progress can be paused.");
+        }
+        for (GameListener listener : listeners) {
+            listener.onGamePaused(this);
+        }
+    }
+
+    /**
+     * Allows card calls again after {@link #pauseGame()}.
+     *
+     * @throws LoteriaException if the game is not paused.
+     */
+    public void resumeGame() throws LoteriaException {
+        if (!gameState.compareAndSet(GameState.PAUSED, GameState.IN_PROGRESS)) {
+            throw new LoteriaException("Only a paused game can be resumed.");
+        }
+        for (GameListener listener : listeners) {
+            listener.onGameResumed(this);
+        }
+    }
+
+    public boolean isPaused() {
+        return gameState.get() == GameState.PAUSED;
+    }
+
+    private static boolean isOpenForClaims(GameState state) {
+        return state == GameState.IN_PROGRESS || state == GameState.PAUSED;
+    }
+
+    /**
+     * Ends the game without a winner. Has no effect on a game that is already over.
+     */
+    public void cancelGame() {
+        GameState current;
+        do {
+            current = gameState.get();
+            if (current == GameState.FINISHED || current == GameState.CANCELLED) {
+                return;
+            }
+        } while (!gameState.compareAndSet(current, GameState.CANCELLED));
+        fireGameOver();
+    }
+
+    private void fireGameOver() {
+        for (GameListener listener : listeners) {
+            listener.onGameOver(this);
+        }
     }
 
     public boolean isGameOver() {
-        return gameState == GameState.FINISHED || gameState == GameState.CANCELLED;
+        GameState current = gameState.get();
+        return current == GameState.FINISHED || current == GameState.CANCELLED;
     }
 
     // --- GETTERS ---
 
+    /**
+     * Gets the winner. The winning claim is published right after the state changes to
+     * FINISHED, so a concurrent reader may briefly see FINISHED with no winner yet.
+     *
+     * @return The winning player, or null if there is no winner yet.
+     */
     public Player getWinner() {
-        return winner;
+        ClaimResult claim = winningClaim;
+        return claim != null ? claim.getPlayer() : null;
+    }
+
+    /**
+     * @return The accepted claim, or null if there is no winner yet.
+     */
+    public ClaimResult getWinningClaim() {
+        return winningClaim;
+    }
+
+    /**
+     * Visits every board that holds a card, together with the cell the card occupies,
+     * using the card index built at game start. Views use this to redraw only what a call changed.
+     *
+     * @param card    The card to look up.
+     * @param visitor Receives each board holding the card and the card's row-major cell index.
+     */
+    public void forEachBoardHolding(LoteriaCard card, ObjIntConsumer<PlayerBoard> visitor) {
+        forEachBoardHolding(card.getCardNumber(), visitor);
+    }
+
+    /**
+     * Visits every board that holds a card id, together with the cell the card occupies.
+     *
+     * @param cardNumber The id (number) of the card to look up.
+     * @param visitor    Receives each board holding the card and the card's row-major cell index.
+     */
+    public void forEachBoardHolding(int cardNumber, ObjIntConsumer<PlayerBoard> visitor) {
+        CardIndex index = this.cardIndex;
+        if (index == null || !CardIndex.isIndexable(cardNumber)) {
+            return;
+        }
+        int[] slots = index.slotsFor(cardNumber);
+        byte[] cells = index.cellsFor(cardNumber);
+        for (int hit = 0; hit < slots.length; hit++) {
+            visitor.accept(index.board(slots[hit]), cells[hit]);
+        }
+    }
+
+    /**
+     * Gets the patterns completed by the most recent call when winner detection is enabled.
+     *
+     * @return An unmodifiable list of completions, valid until the next call; empty if detection is off.
+     */
+    public List<PatternCompletion> getLastCompletions() {
+        return lastCompletions;
+    }
+
+    /**
+     * @return The pattern the winner completed, or null if there is no winner yet.
+     */
+    public WinningPattern getWinningPattern() {
+        ClaimResult claim = winningClaim;
+        return claim != null ? claim.getPattern() : null;
+    }
+
+    /**
+     * Creates the result record of this game, including the session seed needed to replay it.
+     *
+     * @param gameDurationMs The total duration of the game in milliseconds.
+     * @return A new GameResult.
+     */
+    public GameResult createResult(long gameDurationMs) {
+        return new GameResult(getWinner(), List.copyOf(players), getWinningPattern(), deck.getCalledCount(), gameDurationMs, sessionSeed);
+    }
+
+    /**
+     * Takes an immutable snapshot of the call sequence and outcome. Must be called on the
+     * thread that calls cards.
+     *
+     * @return A new GameSnapshot.
+     */
+    public GameSnapshot snapshot() {
+        return new GameSnapshot(gameState.get(), getCurrentCard(), deck.getCalledCards(), calledCardMask, deck.getRemainingCount(), winningClaim);
+    }
+
+    /**
+     * Creates the compact record of this game, for archives and network payloads.
+     *
+     * @param gameDurationMs The total duration of the game in milliseconds.
+     * @return A new GameRecord.
+     */
+    public GameRecord createRecord(long gameDurationMs) {
+        return GameRecord.of(this, gameDurationMs);
     }
 
     public LoteriaCard getCurrentCard() {
-        return currentCard;
+        int cardId = getCurrentCardId();
+        return cardId == 0 ? null : LoteriaCards.getCardByNumber(cardId);
     }
 
+    /**
+     * @return The id (number) of the last card called, or 0 if none has been called.
+     */
+    public int getCurrentCardId() {
+        int callCount = deck.getCalledCount();
+        return callCount == 0 ? 0 : deck.getCalledCardId(callCount - 1);
+    }
+
+    /**
+     * @return An unmodifiable, live view of the called cards in call order.
+     */
     public List<LoteriaCard> getCalledCards() {
-        return Collections.unmodifiableList(calledCards);
+        return deck.getCalledCards();
+    }
+
+    /**
+     * @return The number of cards called so far.
+     */
+    public int getCallCount() {
+        return deck.getCalledCount();
+    }
+
+    /**
+     * @param index The position in the call sequence, from 0.
+     * @return The id (number) of the card called at that position.
+     * @throws IndexOutOfBoundsException if fewer cards have been called.
+     */
+    public int getCalledCardId(int index) {
+        return deck.getCalledCardId(index);
+    }
+
+    /**
+     * @return A bitmask with bit {@code n} set for every card number {@code n} called so far.
+     */
+    public long getCalledCardMask() {
+        return calledCardMask;
     }
 
     public List<Player> getPlayers() {
@@ -135,7 +570,7 @@ public class LoteriaGame {
     }
 
     public GameState getGameState() {
-        return gameState;
+        return gameState.get();
     }
 
     public int remainingCards() {
@@ -162,7 +597,7 @@ public class LoteriaGame {
         Map<String, Object> stats = new HashMap<>();
 
         // Called cards
-        stats.put("calledCards", List.copyOf(calledCards));
+        stats.put("calledCards", List.copyOf(deck.getCalledCards()));
 
         // Remaining cards in deck
         stats.put("remainingCards", deck.getRemainingCount());
@@ -175,6 +610,7 @@ public class LoteriaGame {
         stats.put("playerMarks", playerMarks);
 
         // Winner info
+        Player winner = getWinner();
         stats.put("winner", winner != null ? winner.getName() : null);
 
         return stats;
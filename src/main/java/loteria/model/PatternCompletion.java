@@ -0,0 +1,64 @@
+package loteria.model;
+
+/**
+ * An immutable record of a board completing a winning pattern during a card call.
+ * Produced by the game's automatic winner detection.
+ */
+public final class PatternCompletion {
+
+    private final PlayerBoard board;
+    private final WinningPattern pattern;
+    private final int callNumber;
+
+    /**
+     * Constructs a new PatternCompletion.
+     *
+     * @param board      The board that completed the pattern.
+     * @param pattern    The pattern that was completed.
+     * @param callNumber The 1-based number of the call that completed it.
+     */
+    public PatternCompletion(PlayerBoard board, WinningPattern pattern, int callNumber) {
+        this.board = board;
+        this.pattern = pattern;
+        this.callNumber = callNumber;
+    }
+
+    /**
+     * @return The board that completed the pattern.
+     */
+    public PlayerBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The Player who owns the completing board.
+     */
+    public Player getPlayer() {
+        return board.getOwner();
+    }
+
+    /**
+     * @return The pattern that was completed.
+     */
+    public WinningPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return The 1-based number of the call that completed the pattern.
+     */
+    public int getCallNumber() {
+        return callNumber;
+    }
+
+    /**
+     * Returns a user-friendly string representation of the completion.
+     * Example: "Ana: Four Corners @ call 12"
+     *
+     * @return A formatted string.
+     */
+    @Override
+    public String toString() {
+        return board.getOwner().getName() + ": " + pattern.getName() + " @ call " + callNumber;
+    }
+}
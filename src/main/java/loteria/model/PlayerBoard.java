@@ -1,19 +1,34 @@
 package loteria.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a single Lotería board (tabla) for a player.
- * A board consists of a grid of cards and a parallel grid of markers to track called cards.
+ * The grid is stored compactly: cells are numbered row-major and hold card ids (card numbers),
+ * a 64-bit mask records which card ids are on the board, a card-id index maps each card to its
+ * cell, and a second 64-bit mask tracks the marked cells. Marking and lookups are constant-time,
+ * and the id-based methods never touch a LoteriaCard; cards are resolved only when asked for.
  */
 public class PlayerBoard {
 
-    private final LoteriaCard[][] grid;
-    private final boolean[][] markers;
+    /**
+     * The largest board that can be filled with distinct cards: 7, since the deck holds 54.
+     * Every cell of it also fits in the 64-bit marker mask.
+     */
+    public static final int MAX_SIZE = (int) Math.sqrt(LoteriaCards.CARD_COUNT);
+
+    /** Card numbers are used directly as bit positions in the card mask. */
+    private static final int CARD_INDEX_SIZE = Long.SIZE;
+
+    /** Card id per row-major cell; 0 marks an empty cell. */
+    private final byte[] cells;
+    /** Cell index per card number; only meaningful where the card mask bit is set. */
+    private final byte[] cellByCard;
+    private long cardMask;
+    private long markerMask;
     private final int size;
     private final Player owner;
 
@@ -27,13 +42,16 @@ public class PlayerBoard {
         if (size <= 0) {
             throw new IllegalArgumentException("Board size must be positive.");
         }
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size cannot exceed " + MAX_SIZE + ".");
+        }
         if (owner == null) {
             throw new IllegalArgumentException("Board must have an owner.");
         }
         this.size = size;
         this.owner = owner;
-        this.grid = new LoteriaCard[size][size];
-        this.markers = new boolean[size][size];
+        this.cells = new byte[size * size];
+        this.cellByCard = new byte[CARD_INDEX_SIZE];
     }
 
     /**
@@ -43,20 +61,91 @@ public class PlayerBoard {
      * @throws LoteriaException if the deck does not have enough unique cards to fill the board.
      */
     public void generateBoard(Deck deck) throws LoteriaException {
-        int boardCardCount = size * size;
-        if (deck.getAllCards().size() < boardCardCount) {
-            throw new LoteriaException("Deck does not have enough cards to generate a board of size " + size);
+        generateBoard(deck, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Populates the board's grid with a random, unique selection of cards from the deck,
+     * using the given generator so the result can be reproduced.
+     *
+     * @param deck   The game deck to draw cards from.
+     * @param random The generator to draw from.
+     * @throws LoteriaException if the deck does not have enough unique cards to fill the board.
+     */
+    public void generateBoard(Deck deck, RandomGenerator random) throws LoteriaException {
+        BoardGenerator.generate(this, deck.getAllCards(), random);
+    }
+
+    /**
+     * Replaces the board's contents with cards picked from a pool.
+     * Cell {@code i} receives {@code pool[order[i]]}.
+     *
+     * @param pool  The ids of the available cards.
+     * @param order Indexes into the pool; the first {@code size * size} entries are used.
+     */
+    void fill(byte[] pool, int[] order) {
+        clear();
+        for (int cell = 0; cell < cells.length; cell++) {
+            placeCardId(cell, pool[order[cell]]);
         }
+    }
 
-        List<LoteriaCard> cardPool = new ArrayList<>(deck.getAllCards());
-        Collections.shuffle(cardPool);
+    /**
+     * Removes every card and marker from the board.
+     */
+    void clear() {
+        Arrays.fill(cells, (byte) 0);
+        cardMask = 0L;
+        markerMask = 0L;
+    }
 
-        int cardIndex = 0;
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                grid[row][col] = cardPool.get(cardIndex++);
-            }
+    /**
+     * Puts a card into a cell and records it in the card mask and index.
+     *
+     * @param cell The row-major cell index.
+     * @param card The card to place.
+     */
+    void placeCard(int cell, LoteriaCard card) {
+        placeCardId(cell, card.getCardNumber());
+    }
+
+    /**
+     * Puts a card, by id, into a cell and records it in the card mask and index.
+     *
+     * @param cell   The row-major cell index.
+     * @param cardId The id (number) of the card to place.
+     * @throws IllegalArgumentException if the id does not name a card of the deck.
+     */
+    void placeCardId(int cell, int cardId) {
+        if (!LoteriaCards.isCardId(cardId)) {
+            throw new IllegalArgumentException("Card number out of range: " + cardId);
         }
+        cells[cell] = (byte) cardId;
+        cellByCard[cardId] = (byte) cell;
+        cardMask |= 1L << cardId;
+    }
+
+    /**
+     * Finds the cell holding the given card number.
+     *
+     * @param cardNumber The card number to look up.
+     * @return The row-major cell index, or -1 if the card is not on this board.
+     */
+    int cellOfCardNumber(int cardNumber) {
+        if (cardNumber < 0 || cardNumber >= CARD_INDEX_SIZE || (cardMask & (1L << cardNumber)) == 0) {
+            return -1;
+        }
+        return cellByCard[cardNumber];
+    }
+
+    /**
+     * Marks a cell directly by its row-major index.
+     * Used by the game's card index, which already knows where each card sits.
+     *
+     * @param cell The row-major cell index.
+     */
+    void markCell(int cell) {
+        markerMask |= 1L << cell;
     }
 
     /**
@@ -66,15 +155,22 @@ public class PlayerBoard {
      * @return true if the card was found and marked, false otherwise.
      */
     public boolean markCard(LoteriaCard card) {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (grid[row][col] != null && grid[row][col].equals(card)) {
-                    markers[row][col] = true;
-                    return true;
-                }
-            }
+        return card != null && markCardId(card.getCardNumber());
+    }
+
+    /**
+     * Marks the spot on the board holding the given card id, if it exists.
+     *
+     * @param cardId The id (number) of the card to mark.
+     * @return true if the card was found and marked, false otherwise.
+     */
+    public boolean markCardId(int cardId) {
+        int cell = cellOfCardNumber(cardId);
+        if (cell < 0) {
+            return false;
         }
-        return false;
+        markerMask |= 1L << cell;
+        return true;
     }
 
     /**
@@ -84,15 +180,22 @@ public class PlayerBoard {
      * @return true if the card was found and unmarked, false otherwise.
      */
     public boolean unmarkCard(LoteriaCard card) {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (grid[row][col] != null && grid[row][col].equals(card)) {
-                    markers[row][col] = false;
-                    return true;
-                }
-            }
+        return card != null && unmarkCardId(card.getCardNumber());
+    }
+
+    /**
+     * Unmarks the spot on the board holding the given card id.
+     *
+     * @param cardId The id (number) of the card to unmark.
+     * @return true if the card was found and unmarked, false otherwise.
+     */
+    public boolean unmarkCardId(int cardId) {
+        int cell = cellOfCardNumber(cardId);
+        if (cell < 0) {
+            return false;
         }
-        return false;
+        markerMask &= ~(1L << cell);
+        return true;
     }
 
     /**
@@ -102,14 +205,17 @@ public class PlayerBoard {
      * @return true if the card is on this board, false otherwise.
      */
     public boolean hasCard(LoteriaCard card) {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (grid[row][col] != null && grid[row][col].equals(card)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return card != null && hasCardId(card.getCardNumber());
+    }
+
+    /**
+     * Checks if this board contains a specific card id.
+     *
+     * @param cardId The id (number) of the card to search for.
+     * @return true if the card is on this board, false otherwise.
+     */
+    public boolean hasCardId(int cardId) {
+        return cellOfCardNumber(cardId) >= 0;
     }
 
     /**
@@ -123,7 +229,7 @@ public class PlayerBoard {
         if (row < 0 || row >= size || col < 0 || col >= size) {
             return false;
         }
-        return markers[row][col];
+        return (markerMask & (1L << (row * size + col))) != 0;
     }
 
     /**
@@ -134,45 +240,119 @@ public class PlayerBoard {
      * @return The LoteriaCard at the given position, or null if coordinates are invalid.
      */
     public LoteriaCard getCard(int row, int col) {
+        int cardId = getCardId(row, col);
+        return cardId == 0 ? null : LoteriaCards.getCardByNumber(cardId);
+    }
+
+    /**
+     * Gets the id of the card at a specific position on the board.
+     *
+     * @param row The row of the card.
+     * @param col The column of the card.
+     * @return The card's id (number), or 0 if the cell is empty or the coordinates are invalid.
+     */
+    public int getCardId(int row, int col) {
         if (row < 0 || row >= size || col < 0 || col >= size) {
-            return null;
+            return 0;
         }
-        return grid[row][col];
+        return cells[row * size + col];
     }
 
     /**
      * Validates if the board has achieved a winning pattern against the official list of called cards.
+     * This is a compatibility path; callers that track called cards as a mask should use
+     * {@link #checkPattern(WinningPattern, long)}.
      *
      * @param pattern     The winning pattern to check for.
      * @param calledCards The official list of cards that have been called in the game.
      * @return true if all cards required by the pattern have been called, false otherwise.
      */
     public boolean checkPattern(WinningPattern pattern, List<LoteriaCard> calledCards) {
-        Set<LoteriaCard> calledCardsSet = new HashSet<>(calledCards); // For efficient lookups
-        List<Position> requiredPositions = pattern.getRequiredPositions();
+        return checkPattern(pattern, toCardMask(calledCards));
+    }
 
-        for (Position pos : requiredPositions) {
-            LoteriaCard cardOnBoard = getCard(pos.getRow(), pos.getCol());
-            if (cardOnBoard == null || !calledCardsSet.contains(cardOnBoard)) {
-                return false; // A required card has not been called yet
+    /**
+     * Validates if the board has achieved a winning pattern against a bitmask of called card numbers.
+     * Bit {@code n} of the mask is set when card number {@code n} has been called.
+     *
+     * @param pattern        The winning pattern to check for.
+     * @param calledCardMask The official set of called cards, as a card-number bitmask.
+     * @return true if all cards required by the pattern have been called, false otherwise.
+     */
+    public boolean checkPattern(WinningPattern pattern, long calledCardMask) {
+        long patternMask = pattern.getCellMask(size);
+        if (patternMask == 0L) {
+            return false; // The pattern does not fit on this board
+        }
+        return (patternMask & getCalledCellMask(calledCardMask)) == patternMask;
+    }
+
+    /**
+     * Finds the cells whose cards have been called. Unlike {@link #getMarkerMask()}, which
+     * changes as the game marks the board, this depends only on the given calls, so a view can
+     * draw the marks of a {@link GameSnapshot} while the game moves on.
+     *
+     * @param calledCardMask The called cards, as a card-number bitmask.
+     * @return A row-major bitmask of the cells holding a called card.
+     */
+    public long getCalledCellMask(long calledCardMask) {
+        long calledCells = 0L;
+        long hits = cardMask & calledCardMask;
+        while (hits != 0L) {
+            calledCells |= 1L << cellByCard[Long.numberOfTrailingZeros(hits)];
+            hits &= hits - 1;
+        }
+        return calledCells;
+    }
+
+    /**
+     * Checks if the cells currently marked on this board complete a pattern.
+     * Unlike {@link #checkPattern(WinningPattern, long)}, this trusts the board's own markers.
+     *
+     * @param pattern The winning pattern to check for.
+     * @return true if every cell required by the pattern is marked, false otherwise.
+     */
+    public boolean hasPattern(WinningPattern pattern) {
+        long patternMask = pattern.getCellMask(size);
+        return patternMask != 0L && (patternMask & markerMask) == patternMask;
+    }
+
+    /**
+     * Converts a list of cards into a card-number bitmask.
+     *
+     * @param cards The cards to include.
+     * @return A mask with bit {@code n} set for every card number {@code n} in the list.
+     */
+    public static long toCardMask(List<LoteriaCard> cards) {
+        long mask = 0L;
+        for (LoteriaCard card : cards) {
+            int cardNumber = card.getCardNumber();
+            if (cardNumber >= 0 && cardNumber < CARD_INDEX_SIZE) {
+                mask |= 1L << cardNumber;
             }
         }
-        return true; // All required cards have been called
+        return mask;
     }
 
     /**
      * @return The total number of marked cards on the board.
      */
     public int getMarkedCount() {
-        int count = 0;
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (markers[row][col]) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return Long.bitCount(markerMask);
+    }
+
+    /**
+     * @return A bitmask with bit {@code n} set for every card number {@code n} on this board.
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * @return A row-major bitmask of the marked cells.
+     */
+    public long getMarkerMask() {
+        return markerMask;
     }
 
     /**
@@ -0,0 +1,77 @@
+package loteria.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packs small values (card numbers 0..63) six bits apiece into a ByteBuffer.
+ * Value {@code i} occupies bits {@code 6i .. 6i+5} of a little-endian bit stream, so it spans at
+ * most two bytes. All access is absolute: the buffer's position is never moved and nothing is
+ * copied out of it.
+ */
+final class SixBits {
+
+    static final int MAX_VALUE = 0x3F;
+
+    private SixBits() {
+    }
+
+    /**
+     * @return The number of bytes needed to hold {@code count} packed values.
+     */
+    static int bytesFor(int count) {
+        return (count * 6 + 7) >>> 3;
+    }
+
+    /**
+     * Reads the packed value at {@code position} of the stream starting at {@code index}.
+     */
+    static int get(ByteBuffer in, int index, int position) {
+        int bit = position * 6;
+        int at = index + (bit >>> 3);
+        int shift = bit & 7;
+        int bits = in.get(at) & 0xFF;
+        if (shift > 2) {
+            bits |= (in.get(at + 1) & 0xFF) << 8;
+        }
+        return (bits >>> shift) & MAX_VALUE;
+    }
+
+    /**
+     * Writes {@code values} as a packed stream starting at {@code index}.
+     */
+    static void write(ByteBuffer out, int index, byte[] values) {
+        long bits = 0;
+        int filled = 0;
+        int at = index;
+        for (byte value : values) {
+            bits |= (long) (value & MAX_VALUE) << filled;
+            filled += 6;
+            if (filled >= 8) {
+                out.put(at++, (byte) bits);
+                bits >>>= 8;
+                filled -= 8;
+            }
+        }
+        if (filled > 0) {
+            out.put(at, (byte) bits);
+        }
+    }
+
+    /**
+     * Reads {@code values.length} packed values of the stream starting at {@code index}.
+     */
+    static void read(ByteBuffer in, int index, byte[] values) {
+        long bits = 0;
+        int filled = 0;
+        int at = index;
+        for (int i = 0; i < values.length; i++) {
+            if (filled < 6) {
+                bits |= (long) (in.get(at++) & 0xFF) << filled;
+                filled += 8;
+            }
+            values[i] = (byte) (bits & MAX_VALUE);
+            bits >>>= 6;
+            filled -= 6;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package loteria.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Incrementally detects boards that complete a standard winning pattern.
+ * Every (board, pattern) pair keeps a count of cells still missing. A call only
+ * decrements the counters of the boards reached through the {@link CardIndex},
+ * so detection costs O(hits) per call instead of O(boards x patterns).
+ */
+final class WinDetector {
+
+    private final CardIndex cardIndex;
+
+    /** Standard patterns per board size; null for sizes not in play. */
+    private final WinningPattern[][] patternsBySize;
+
+    /** For each board size and cell, the indexes of the patterns that include that cell. */
+    private final int[][][] patternsByCell;
+
+    /** Remaining-cell counters, one block of patterns per board slot. */
+    private final byte[] remaining;
+    private final int[] offsets;
+
+    private final List<PatternCompletion> lastCompletions;
+
+    /**
+     * Builds the counters for every board in the index.
+     *
+     * @param cardIndex The index of the game's generated boards.
+     */
+    WinDetector(CardIndex cardIndex) {
+        this.cardIndex = cardIndex;
+        this.patternsBySize = new WinningPattern[PlayerBoard.MAX_SIZE + 1][];
+        this.patternsByCell = new int[PlayerBoard.MAX_SIZE + 1][][];
+        this.offsets = new int[cardIndex.boardCount()];
+        this.lastCompletions = new ArrayList<>();
+
+        int total = 0;
+        for (int slot = 0; slot < cardIndex.boardCount(); slot++) {
+            int size = cardIndex.board(slot).getSize();
+            if (patternsBySize[size] == null) {
+                compilePatterns(size);
+            }
+            offsets[slot] = total;
+            total += patternsBySize[size].length;
+        }
+
+        this.remaining = new byte[total];
+        reset();
+    }
+
+    /**
+     * Recounts every counter from the boards' current markers and forgets the last completions,
+     * so the detector can follow another game played on the same boards.
+     */
+    void reset() {
+        lastCompletions.clear();
+        for (int slot = 0; slot < cardIndex.boardCount(); slot++) {
+            PlayerBoard board = cardIndex.board(slot);
+            WinningPattern[] patterns = patternsBySize[board.getSize()];
+            for (int p = 0; p < patterns.length; p++) {
+                long mask = patterns[p].getCellMask(board.getSize());
+                // Cells already marked (e.g. before detection started) do not count
+                remaining[offsets[slot] + p] = (byte) Long.bitCount(mask & ~board.getMarkerMask());
+            }
+        }
+    }
+
+    /**
+     * Loads the standard patterns for a board size and inverts them into a per-cell lookup.
+     *
+     * @param size The board size.
+     */
+    private void compilePatterns(int size) {
+        WinningPattern[] patterns = StandardPatterns.getAllStandardPatterns(size).toArray(new WinningPattern[0]);
+        int cellCount = size * size;
+        int[][] byCell = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = 0;
+            for (WinningPattern pattern : patterns) {
+                if ((pattern.getCellMask(size) & (1L << cell)) != 0) {
+                    count++;
+                }
+            }
+            byCell[cell] = new int[count];
+            int next = 0;
+            for (int p = 0; p < patterns.length; p++) {
+                if ((patterns[p].getCellMask(size) & (1L << cell)) != 0) {
+                    byCell[cell][next++] = p;
+                }
+            }
+        }
+        patternsBySize[size] = patterns;
+        patternsByCell[size] = byCell;
+    }
+
+    /**
+     * Applies a called card to the counters of the boards that hold it.
+     *
+     * @param cardNumber The number of the called card.
+     * @param callNumber The 1-based number of this call.
+     * @return The patterns completed by this call; valid until the next call.
+     */
+    List<PatternCompletion> onCardCalled(int cardNumber, int callNumber) {
+        lastCompletions.clear();
+        if (!CardIndex.isIndexable(cardNumber)) {
+            return Collections.emptyList();
+        }
+        int[] slots = cardIndex.slotsFor(cardNumber);
+        byte[] cells = cardIndex.cellsFor(cardNumber);
+        for (int hit = 0; hit < slots.length; hit++) {
+            int slot = slots[hit];
+            int size = cardIndex.board(slot).getSize();
+            int base = offsets[slot];
+            for (int p : patternsByCell[size][cells[hit]]) {
+                if (--remaining[base + p] == 0) {
+                    lastCompletions.add(new PatternCompletion(cardIndex.board(slot), patternsBySize[size][p], callNumber));
+                }
+            }
+        }
+        return Collections.unmodifiableList(lastCompletions);
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Collections;
  * An immutable data class that defines a specific winning pattern.
  * A pattern consists of a name, a type, a score value, and a list of
  * required board positions that must be marked to win.
+ * The positions are also compiled once into a row-major cell bitmask for every
+ * supported board size, so boards can test a pattern with a single mask comparison.
  */
 public final class WinningPattern {
 
@@ -14,6 +16,7 @@ public final class WinningPattern {
     private final PatternType type;
     private final List<Position> requiredPositions;
     private final int pointValue;
+    private final long[] cellMasks;
 
     /**
      * Constructs a new WinningPattern.
@@ -38,6 +41,31 @@ public final class WinningPattern {
         // Store a defensive copy to ensure immutability
         this.requiredPositions = List.copyOf(positions);
         this.pointValue = pointValue;
+        this.cellMasks = compileCellMasks(this.requiredPositions);
+    }
+
+    /**
+     * Builds the cell bitmask of the given positions for each board size up to {@link PlayerBoard#MAX_SIZE}.
+     * Sizes the pattern does not fit on are left as 0.
+     *
+     * @param positions The required positions.
+     * @return An array of masks indexed by board size.
+     */
+    private static long[] compileCellMasks(List<Position> positions) {
+        long[] masks = new long[PlayerBoard.MAX_SIZE + 1];
+        for (int boardSize = 1; boardSize <= PlayerBoard.MAX_SIZE; boardSize++) {
+            long mask = 0L;
+            for (Position pos : positions) {
+                if (pos.getRow() < 0 || pos.getRow() >= boardSize ||
+                    pos.getCol() < 0 || pos.getCol() >= boardSize) {
+                    mask = 0L;
+                    break;
+                }
+                mask |= 1L << (pos.getRow() * boardSize + pos.getCol());
+            }
+            masks[boardSize] = mask;
+        }
+        return masks;
     }
 
     /**
@@ -68,6 +96,20 @@ public final class WinningPattern {
         return pointValue;
     }
 
+    /**
+     * Gets the precompiled cell bitmask of this pattern for a board of the given size.
+     * Bit {@code row * boardSize + col} is set for every required position.
+     *
+     * @param boardSize The dimension of the board.
+     * @return The cell mask, or 0 if the pattern does not fit on a board of that size.
+     */
+    public long getCellMask(int boardSize) {
+        if (boardSize <= 0 || boardSize >= cellMasks.length) {
+            return 0L;
+        }
+        return cellMasks[boardSize];
+    }
+
     /**
      * Checks if all positions in this pattern are valid for a board of a given size.
      *
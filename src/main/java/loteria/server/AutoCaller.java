@@ -0,0 +1,156 @@
+package loteria.server;
+
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Calls cards for one room on a fixed rhythm, like a caller reading a card every few seconds.
+ * Deadlines are anchored to the schedule ({@code start + n × interval}) rather than to the
+ * moment the previous call ran, so lateness from the timer or a busy worker never accumulates
+ * into drift. Each deadline is a one-shot timeout on the shared {@link TimerWheel}, which then
+ * hands the call to the room's lane; one wheel thread can therefore pace thousands of rooms.
+ *
+ * <p>Every method must be called on the room's lane.
+ */
+final class AutoCaller {
+
+    private final Executor lane;
+    private final TimerWheel timerWheel;
+    private final CallJitter jitter;
+    private final BooleanSupplier call;
+
+    private long intervalNanos;
+    private long nextDeadlineNanos;
+    private long remainingAtPauseNanos;
+    private TimerWheel.Timeout pendingCall;
+    private boolean running;
+    private boolean paused;
+
+    /**
+     * Constructs a stopped auto-caller.
+     *
+     * @param lane       The room's lane, where calls run.
+     * @param timerWheel The wheel that times the calls.
+     * @param jitter     Records how late each call runs.
+     * @param call       Calls one card; returns false when calling should stop.
+     */
+    AutoCaller(Executor lane, TimerWheel timerWheel, CallJitter jitter, BooleanSupplier call) {
+        this.lane = lane;
+        this.timerWheel = timerWheel;
+        this.jitter = jitter;
+        this.call = call;
+    }
+
+    /**
+     * Starts calling, the first card one interval from now.
+     *
+     * @param intervalNanos The time between calls.
+     */
+    void start(long intervalNanos) {
+        requirePositive(intervalNanos);
+        cancelPending();
+        this.intervalNanos = intervalNanos;
+        this.running = true;
+        this.paused = false;
+        this.nextDeadlineNanos = timerWheel.nanoTime() + intervalNanos;
+        arm();
+    }
+
+    /**
+     * Changes the interval. The next call moves to one new interval after the previous slot.
+     *
+     * @param intervalNanos The new time between calls.
+     */
+    void setInterval(long intervalNanos) {
+        requirePositive(intervalNanos);
+        long previousSlot = nextDeadlineNanos - this.intervalNanos;
+        this.intervalNanos = intervalNanos;
+        if (running && !paused) {
+            cancelPending();
+            nextDeadlineNanos = Math.max(timerWheel.nanoTime(), previousSlot + intervalNanos);
+            arm();
+        }
+    }
+
+    /**
+     * Holds the next call, remembering how much of the current interval was left.
+     */
+    void pause() {
+        if (running && !paused) {
+            paused = true;
+            remainingAtPauseNanos = Math.max(0, nextDeadlineNanos - timerWheel.nanoTime());
+            cancelPending();
+        }
+    }
+
+    /**
+     * Continues calling; the next card comes after the part of the interval left at pause time.
+     */
+    void resume() {
+        if (running && paused) {
+            paused = false;
+            nextDeadlineNanos = timerWheel.nanoTime() + remainingAtPauseNanos;
+            arm();
+        }
+    }
+
+    /**
+     * Stops calling for good.
+     */
+    void stop() {
+        running = false;
+        cancelPending();
+    }
+
+    /**
+     * @return The time between calls in nanoseconds, or 0 if never started.
+     */
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    private void arm() {
+        long deadline = nextDeadlineNanos;
+        pendingCall = timerWheel.scheduleAt(() -> lane.execute(() -> fire(deadline)), deadline);
+    }
+
+    /**
+     * Runs one scheduled call on the lane and arms the next slot.
+     */
+    private void fire(long deadline) {
+        // A pause, resume or interval change after this timeout was armed makes it stale
+        if (!running || paused || deadline != nextDeadlineNanos) {
+            return;
+        }
+        long now = timerWheel.nanoTime();
+        jitter.record(now - deadline);
+        if (!call.getAsBoolean()) {
+            stop();
+            return;
+        }
+        long next = deadline + intervalNanos;
+        if (next <= now) {
+            // Fell behind by more than a whole interval: skip the missed slots instead of bursting
+            next += ((now - next) / intervalNanos + 1) * intervalNanos;
+        }
+        nextDeadlineNanos = next;
+        arm();
+    }
+
+    private void cancelPending() {
+        if (pendingCall != null) {
+            pendingCall.cancel();
+            pendingCall = null;
+        }
+    }
+
+    private static void requirePositive(long intervalNanos) {
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Call interval must be positive.");
+        }
+    }
+}
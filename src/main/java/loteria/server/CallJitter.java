@@ -0,0 +1,119 @@
+package loteria.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how late scheduled card calls run, from their deadline to the moment the card is
+ * actually called on the room's lane. That covers the timer wheel's resolution and the wait
+ * for the room's worker, i.e. everything a player perceives as an uneven rhythm.
+ *
+ * <p>Lateness is kept in a histogram of power-of-two microsecond buckets, so recording is
+ * lock-free and allocation-free and one instance can be shared by every room of a server.
+ */
+public final class CallJitter {
+
+    private static final int BUCKETS = 40;
+
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+    private final AtomicLongArray histogram;
+
+    /**
+     * Constructs an empty recorder.
+     */
+    public CallJitter() {
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+        this.histogram = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param latenessNanos How long after its deadline the call ran; negative values count as 0.
+     */
+    public void record(long latenessNanos) {
+        long lateness = Math.max(0, latenessNanos);
+        count.increment();
+        totalNanos.add(lateness);
+        maxNanos.accumulate(lateness);
+        histogram.incrementAndGet(bucketOf(lateness));
+    }
+
+    /**
+     * @return The number of calls recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The mean lateness in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    /**
+     * @return The worst lateness in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns an upper bound for a lateness percentile, accurate to a factor of two.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper edge of the histogram bucket holding that percentile, in nanoseconds.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns a summary such as "calls=1200 mean=0.61ms p99=1.02ms max=1.87ms".
+     *
+     * @return A formatted string.
+     */
+    @Override
+    public String toString() {
+        return String.format("calls=%d mean=%.2fms p99=%.2fms max=%.2fms",
+                getCount(), getMeanNanos() / 1e6, getPercentileNanos(99) / 1e6, getMaxNanos() / 1e6);
+    }
+
+    /**
+     * Bucket {@code i} holds lateness up to 2^i microseconds.
+     */
+    private static int bucketOf(long latenessNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latenessNanos);
+        int bucket = micros <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
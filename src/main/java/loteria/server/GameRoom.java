@@ -0,0 +1,289 @@
+package loteria.server;
+
+import loteria.model.ClaimResult;
+import loteria.model.GameState;
+import loteria.model.GameStatistics;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.PatternCompletion;
+import loteria.model.Player;
+import loteria.model.WinningPattern;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single room (sala) hosting one LoteriaGame.
+ * Every access to the game goes through the room's serialized lane, so rooms never lock each
+ * other and the single-threaded game model is never touched concurrently. Card calls are
+ * paced by an {@link AutoCaller} on a shared {@link TimerWheel}, and can be paused and resumed.
+ * If a task on the lane throws, the room fails: its game is cancelled and the room ends, so it
+ * never lingers without calling cards.
+ */
+public final class GameRoom {
+
+    private final String id;
+    private final LoteriaGame game;
+    private final Executor lane;
+    private final List<RoomListener> listeners;
+    private final AutoCaller autoCaller;
+
+    // Only accessed on the lane
+    private boolean over;
+    private long startedAtNanos;
+
+    /**
+     * Constructs a new room.
+     *
+     * @param id         The room identifier.
+     * @param game       The game hosted by this room.
+     * @param workers    The pool the room's serialized lane runs on.
+     * @param timerWheel The wheel used to schedule card calls.
+     * @param jitter     Records how late scheduled calls run.
+     */
+    GameRoom(String id, LoteriaGame game, Executor workers, TimerWheel timerWheel, CallJitter jitter) {
+        this.id = id;
+        this.game = game;
+        this.lane = new SerialExecutor(workers, (thread, failure) -> fail(failure));
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.autoCaller = new AutoCaller(lane, timerWheel, jitter, this::callTick);
+    }
+
+    /**
+     * @return The room identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Registers a listener for room events.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(RoomListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(RoomListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs a task against the game on the room's lane.
+     *
+     * @param task The task to run.
+     * @param <T>  The type of the task's result.
+     * @return A future completed with the task's result, or exceptionally with its LoteriaException.
+     */
+    public <T> CompletableFuture<T> submit(RoomTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        lane.execute(() -> {
+            try {
+                result.complete(task.run(game));
+            } catch (LoteriaException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Adds a player (with their boards already attached) to the room's game.
+     *
+     * @param player The player joining.
+     * @return A future completed once the player has joined.
+     */
+    public CompletableFuture<Player> join(Player player) {
+        return submit(g -> {
+            g.addPlayer(player);
+            return player;
+        });
+    }
+
+    /**
+     * Starts the game and begins calling a card every interval.
+     *
+     * @param interval The time between calls.
+     * @param unit     The unit of the interval.
+     * @return A future completed once the game has started.
+     */
+    public CompletableFuture<Void> start(long interval, TimeUnit unit) {
+        long intervalNanos = unit.toNanos(interval);
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Call interval must be positive.");
+        }
+        return submit(g -> {
+            g.startGame();
+            startedAtNanos = System.nanoTime();
+            autoCaller.start(intervalNanos);
+            return null;
+        });
+    }
+
+    /**
+     * Changes the time between calls of a running room.
+     *
+     * @param interval The new time between calls.
+     * @param unit     The unit of the interval.
+     * @return A future completed once the new interval applies.
+     */
+    public CompletableFuture<Void> setCallInterval(long interval, TimeUnit unit) {
+        long intervalNanos = unit.toNanos(interval);
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Call interval must be positive.");
+        }
+        return submit(g -> {
+            autoCaller.setInterval(intervalNanos);
+            return null;
+        });
+    }
+
+    /**
+     * Pauses the game: no cards are called until {@link #resume()}, but claims are still accepted.
+     *
+     * @return A future completed once the game is paused, or exceptionally if it was not in progress.
+     */
+    public CompletableFuture<Void> pause() {
+        return submit(g -> {
+            g.pauseGame();
+            autoCaller.pause();
+            return null;
+        });
+    }
+
+    /**
+     * Resumes a paused game. The next card comes after what was left of the interval.
+     *
+     * @return A future completed once calling has resumed, or exceptionally if it was not paused.
+     */
+    public CompletableFuture<Void> resume() {
+        return submit(g -> {
+            g.resumeGame();
+            autoCaller.resume();
+            return null;
+        });
+    }
+
+    /**
+     * Validates a claim on the calling thread, without waiting for the room's lane.
+     * Claims from many players are checked in parallel and the game accepts exactly one;
+     * the winning claim then ends the room on its lane.
+     *
+     * @param player  The claiming player.
+     * @param pattern The pattern claimed.
+     * @return The outcome of the claim.
+     */
+    public ClaimResult claim(Player player, WinningPattern pattern) {
+        ClaimResult result = game.claimWin(player, pattern);
+        if (result.isAccepted()) {
+            lane.execute(() -> finish(result.getPlayer()));
+        }
+        return result;
+    }
+
+    /**
+     * Cancels the game if it is still running and stops calling cards.
+     *
+     * @return A future completed once the room has stopped.
+     */
+    public CompletableFuture<Void> stop() {
+        return submit(g -> {
+            g.cancelGame();
+            finish(g.getWinner());
+            return null;
+        });
+    }
+
+    /**
+     * Records the room's finished game. Must be called on the lane, once the game is over;
+     * a game that never started is not recorded.
+     *
+     * @param statistics The statistics to record into.
+     */
+    void recordInto(GameStatistics statistics) {
+        if (startedAtNanos == 0) {
+            return;
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+        statistics.recordGame(game.createResult(durationMs), game.getCalledCardMask());
+    }
+
+    /**
+     * Calls one card on the lane.
+     *
+     * @return true if calling should continue.
+     */
+    private boolean callTick() {
+        // A game ended by a claim is finished by the claim's own lane task
+        if (over || game.isGameOver()) {
+            return false;
+        }
+        LoteriaCard card;
+        try {
+            card = game.callNextCard();
+        } catch (LoteriaException e) {
+            endWithoutWinner();
+            return false;
+        }
+        List<PatternCompletion> completions = game.getLastCompletions();
+        for (RoomListener listener : listeners) {
+            listener.onCardCalled(this, card, completions);
+        }
+        if (game.isGameOver()) {
+            return false;
+        }
+        if (game.remainingCards() == 0) {
+            endWithoutWinner();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends a game whose deck ran out. The game itself is cancelled first, so a late claim is
+     * refused instead of being accepted for a room that is already over. If a claim won in
+     * between, the claim's own lane task finishes the room.
+     */
+    private void endWithoutWinner() {
+        game.cancelGame();
+        if (game.getGameState() == GameState.CANCELLED) {
+            finish(null);
+        }
+    }
+
+    /**
+     * Fails the room after a task on its lane threw. Runs on the lane: the game is cancelled and
+     * the room ends like any other, so its manager records and removes it, then listeners learn why.
+     */
+    private void fail(Throwable cause) {
+        game.cancelGame();
+        finish(game.getWinner());
+        for (RoomListener listener : listeners) {
+            listener.onRoomFailed(this, cause);
+        }
+    }
+
+    /**
+     * Stops calling and notifies listeners exactly once.
+     */
+    private void finish(Player winner) {
+        if (over) {
+            return;
+        }
+        over = true;
+        autoCaller.stop();
+        for (RoomListener listener : listeners) {
+            listener.onGameOver(this, winner);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package loteria.server;
+
+import loteria.model.ClaimResult;
+import loteria.model.LoteriaCard;
+import loteria.model.PatternCompletion;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import loteria.model.WinningPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An in-process client for a {@link GameRoom}, used for local play and tests.
+ * It joins a room as one player, records every card the room calls, and can submit claims.
+ */
+public class LocalClient implements RoomListener {
+
+    private final Player player;
+    private final List<LoteriaCard> calledCards;
+    private final CompletableFuture<Player> gameOver;
+    private GameRoom room;
+
+    /**
+     * Constructs a client for a new player with the given boards.
+     *
+     * @param name      The player's name.
+     * @param boards    The number of boards to play.
+     * @param boardSize The dimension of each board.
+     */
+    public LocalClient(String name, int boards, int boardSize) {
+        this.player = new Player(name);
+        for (int i = 0; i < boards; i++) {
+            player.addBoard(new PlayerBoard(boardSize, player));
+        }
+        this.calledCards = Collections.synchronizedList(new ArrayList<>());
+        this.gameOver = new CompletableFuture<>();
+    }
+
+    /**
+     * Joins a room and starts listening to it.
+     *
+     * @param room The room to join.
+     * @return A future completed once the player has joined.
+     */
+    public CompletableFuture<Player> join(GameRoom room) {
+        this.room = room;
+        room.addListener(this);
+        return room.join(player);
+    }
+
+    /**
+     * Claims a win in the joined room.
+     *
+     * @param pattern The pattern claimed.
+     * @return The outcome of the claim.
+     */
+    public ClaimResult claim(WinningPattern pattern) {
+        if (room == null) {
+            throw new IllegalStateException("Client has not joined a room.");
+        }
+        return room.claim(player, pattern);
+    }
+
+    @Override
+    public void onCardCalled(GameRoom room, LoteriaCard card, List<PatternCompletion> completions) {
+        calledCards.add(card);
+    }
+
+    @Override
+    public void onGameOver(GameRoom room, Player winner) {
+        gameOver.complete(winner);
+    }
+
+    /**
+     * @return The client's player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return A copy of the cards called so far, in order.
+     */
+    public List<LoteriaCard> getCalledCards() {
+        synchronized (calledCards) {
+            return List.copyOf(calledCards);
+        }
+    }
+
+    /**
+     * @return A future completed with the winner (or null) when the room's game ends.
+     */
+    public CompletableFuture<Player> getGameOver() {
+        return gameOver;
+    }
+}
@@ -0,0 +1,40 @@
+package loteria.server;
+
+import loteria.model.LoteriaCard;
+import loteria.model.PatternCompletion;
+import loteria.model.Player;
+
+import java.util.List;
+
+/**
+ * Receives events from a {@link GameRoom}. Callbacks run on the room's lane, one at a time,
+ * and must not block.
+ */
+public interface RoomListener {
+
+    /**
+     * Called after a card has been called and marked.
+     *
+     * @param room        The room.
+     * @param card        The card that was called.
+     * @param completions Patterns completed by this call if the room detects winners; only valid during the callback.
+     */
+    default void onCardCalled(GameRoom room, LoteriaCard card, List<PatternCompletion> completions) {}
+
+    /**
+     * Called once when the room's game ends, either with a winner or with an exhausted deck.
+     *
+     * @param room   The room.
+     * @param winner The winning player, or null if the deck ran out.
+     */
+    default void onGameOver(GameRoom room, Player winner) {}
+
+    /**
+     * Called when a task on the room's lane threw, after the room has been stopped and its
+     * game over has been reported.
+     *
+     * @param room  The room.
+     * @param cause What the task threw.
+     */
+    default void onRoomFailed(GameRoom room, Throwable cause) {}
+}
@@ -0,0 +1,265 @@
+package loteria.server;
+
+import loteria.model.DeckPool;
+import loteria.model.GameStatistics;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many independent game rooms in one JVM.
+ * Rooms share a small worker pool through per-room serialized lanes and a single timer wheel
+ * for card calls. The number of open rooms is capped, and rooms are removed as soon as their
+ * game is over, so memory stays bounded. The lateness of every scheduled call across all rooms
+ * is recorded in one {@link CallJitter}, and every finished game in one shared
+ * {@link GameStatistics}, whose striped counters let rooms on all workers record at once.
+ * New rooms take their game's deck from a {@link DeckPool} shuffled ahead of time, which the
+ * manager creates on first use unless one is given.
+ */
+public class RoomManager implements AutoCloseable {
+
+    private final int maxRooms;
+    private final Executor workers;
+    private final ExecutorService ownedWorkers;
+    private final TimerWheel timerWheel;
+    private final boolean ownsTimerWheel;
+    private final Map<String, GameRoom> rooms;
+    private final AtomicInteger roomCount;
+    private final CallJitter callJitter;
+    private final GameStatistics statistics;
+    private final boolean ownsDeckPool;
+    private volatile DeckPool deckPool;
+
+    /**
+     * Constructs a manager with its own worker pool (one thread per processor) and timer wheel.
+     *
+     * @param maxRooms The maximum number of rooms open at once.
+     */
+    public RoomManager(int maxRooms) {
+        this(maxRooms, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "loteria-room-worker");
+            thread.setDaemon(true);
+            return thread;
+        }), new TimerWheel(), true, null);
+    }
+
+    /**
+     * Constructs a manager on an existing executor and timer wheel, which the caller keeps owning.
+     *
+     * @param maxRooms   The maximum number of rooms open at once.
+     * @param workers    The executor the room lanes run on.
+     * @param timerWheel The wheel used to schedule card calls.
+     */
+    public RoomManager(int maxRooms, Executor workers, TimerWheel timerWheel) {
+        this(maxRooms, workers, timerWheel, false, null);
+    }
+
+    /**
+     * Constructs a manager on an existing executor, timer wheel and deck pool, which the caller
+     * keeps owning.
+     *
+     * @param maxRooms   The maximum number of rooms open at once.
+     * @param workers    The executor the room lanes run on.
+     * @param timerWheel The wheel used to schedule card calls.
+     * @param deckPool   The pool new rooms take their decks from.
+     */
+    public RoomManager(int maxRooms, Executor workers, TimerWheel timerWheel, DeckPool deckPool) {
+        this(maxRooms, workers, timerWheel, false, deckPool);
+        if (deckPool == null) {
+            throw new IllegalArgumentException("Deck pool cannot be null.");
+        }
+    }
+
+    private RoomManager(int maxRooms, Executor workers, TimerWheel timerWheel, boolean owned, DeckPool deckPool) {
+        if (maxRooms <= 0) {
+            throw new IllegalArgumentException("Maximum number of rooms must be positive.");
+        }
+        this.maxRooms = maxRooms;
+        this.workers = workers;
+        this.ownedWorkers = owned ? (ExecutorService) workers : null;
+        this.timerWheel = timerWheel;
+        this.ownsTimerWheel = owned;
+        this.rooms = new ConcurrentHashMap<>();
+        this.roomCount = new AtomicInteger();
+        this.callJitter = new CallJitter();
+        this.statistics = new GameStatistics();
+        this.ownsDeckPool = deckPool == null;
+        this.deckPool = deckPool;
+    }
+
+    /**
+     * Opens a new room with a pre-shuffled deck (or a random session seed if none is ready)
+     * and automatic winner detection off.
+     *
+     * @param id         The unique room identifier.
+     * @param maxPlayers The maximum number of players in the room.
+     * @return The new room.
+     * @throws LoteriaException if the id is taken or the manager is full.
+     */
+    public GameRoom createRoom(String id, int maxPlayers) throws LoteriaException {
+        // Refuse before taking a deck, so a full manager does not drain the pool
+        reserveRoom();
+        if (rooms.containsKey(id)) {
+            roomCount.decrementAndGet();
+            throw new LoteriaException("A room with id '" + id + "' already exists.");
+        }
+        return openRoom(id, getDeckPool().newGame(maxPlayers));
+    }
+
+    /**
+     * Opens a new room hosting the given, not yet started game.
+     *
+     * @param id   The unique room identifier.
+     * @param game The game to host.
+     * @return The new room.
+     * @throws LoteriaException if the id is taken or the manager is full.
+     */
+    public GameRoom createRoom(String id, LoteriaGame game) throws LoteriaException {
+        reserveRoom();
+        return openRoom(id, game);
+    }
+
+    /**
+     * Counts a room about to open.
+     *
+     * @throws LoteriaException if the manager is full.
+     */
+    private void reserveRoom() throws LoteriaException {
+        if (roomCount.incrementAndGet() > maxRooms) {
+            roomCount.decrementAndGet();
+            throw new LoteriaException("The server is full. Cannot open more than " + maxRooms + " rooms.");
+        }
+    }
+
+    /**
+     * Opens a room already counted by {@link #reserveRoom()}.
+     */
+    private GameRoom openRoom(String id, LoteriaGame game) throws LoteriaException {
+        GameRoom room = new GameRoom(id, game, workers, timerWheel, callJitter);
+        if (rooms.putIfAbsent(id, room) != null) {
+            roomCount.decrementAndGet();
+            throw new LoteriaException("A room with id '" + id + "' already exists.");
+        }
+        room.addListener(new RoomListener() {
+            @Override
+            public void onGameOver(GameRoom finished, Player winner) {
+                finished.recordInto(statistics);
+                remove(finished);
+            }
+        });
+        return room;
+    }
+
+    /**
+     * @param id The room identifier.
+     * @return The open room with that id, or null if there is none.
+     */
+    public GameRoom getRoom(String id) {
+        return rooms.get(id);
+    }
+
+    /**
+     * @return An unmodifiable view of the open rooms.
+     */
+    public Collection<GameRoom> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    /**
+     * @return The number of open rooms.
+     */
+    public int getRoomCount() {
+        return roomCount.get();
+    }
+
+    /**
+     * @return How late scheduled card calls have run, across every room of this manager.
+     */
+    public CallJitter getCallJitter() {
+        return callJitter;
+    }
+
+    /**
+     * @return The statistics of every game finished in this manager's rooms.
+     */
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The pool new rooms take their decks from, with its hit, miss and refill metrics.
+     *         A manager that was not given a pool creates it on the first call.
+     */
+    public DeckPool getDeckPool() {
+        DeckPool pool = deckPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = deckPool;
+                if (pool == null) {
+                    pool = new DeckPool();
+                    deckPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Stops a room's game and removes it.
+     *
+     * @param id The room identifier.
+     * @return A future completed once the room has stopped; already complete if there is no such room.
+     */
+    public CompletableFuture<Void> closeRoom(String id) {
+        GameRoom room = rooms.get(id);
+        if (room == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> stopped = room.stop();
+        remove(room);
+        return stopped;
+    }
+
+    private void remove(GameRoom room) {
+        if (rooms.remove(room.getId(), room)) {
+            roomCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops every room, and the deck pool, worker pool and timer wheel if this manager created
+     * them. Waits for every room's lane to run its stop first, so no room is cut off halfway by
+     * the workers shutting down.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Void>> stops = new ArrayList<>();
+        for (GameRoom room : rooms.values()) {
+            stops.add(closeRoom(room.getId()));
+        }
+        // A room whose stop failed has still run it; only the draining matters here
+        CompletableFuture.allOf(stops.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        DeckPool pool = deckPool;
+        if (ownsDeckPool && pool != null) {
+            pool.close();
+        }
+        if (ownsTimerWheel) {
+            timerWheel.close();
+        }
+        if (ownedWorkers != null) {
+            ownedWorkers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package loteria.server;
+
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+
+/**
+ * A unit of work that runs against a room's game on the room's lane.
+ *
+ * @param <T> The type of the task's result.
+ */
+@FunctionalInterface
+public interface RoomTask<T> {
+
+    /**
+     * Runs the task. Only one task per room runs at a time.
+     *
+     * @param game The room's game.
+     * @return The task's result.
+     * @throws LoteriaException if the game rejects the action.
+     */
+    T run(LoteriaGame game) throws LoteriaException;
+}
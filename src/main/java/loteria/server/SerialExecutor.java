@@ -0,0 +1,103 @@
+package loteria.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An executor lane: tasks run one at a time, in submission order, on a shared backing executor.
+ * Each game room owns one lane, so its LoteriaGame is only ever touched by one task at a time
+ * without any locking, while different rooms run in parallel on the same pool. A task that
+ * throws is reported to the lane's failure handler and the lane carries on with the next task.
+ */
+public final class SerialExecutor implements Executor {
+
+    private final Executor backing;
+    private final Queue<Runnable> tasks;
+    private final AtomicBoolean scheduled;
+    private final Thread.UncaughtExceptionHandler failureHandler;
+
+    /**
+     * Constructs a new lane over a backing executor. Failed tasks are reported to the
+     * uncaught exception handler of the thread that ran them.
+     *
+     * @param backing The executor that actually runs the tasks. Must not be null.
+     */
+    public SerialExecutor(Executor backing) {
+        this(backing, null);
+    }
+
+    /**
+     * Constructs a new lane over a backing executor.
+     *
+     * @param backing        The executor that actually runs the tasks. Must not be null.
+     * @param failureHandler Receives every exception thrown by a task, on the lane, before the next
+     *                       task runs; null reports it to the running thread's own handler.
+     */
+    public SerialExecutor(Executor backing, Thread.UncaughtExceptionHandler failureHandler) {
+        if (backing == null) {
+            throw new IllegalArgumentException("Backing executor cannot be null.");
+        }
+        this.backing = backing;
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean(false);
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Queues a task to run after every task submitted before it.
+     *
+     * @param task The task to run.
+     * @throws java.util.concurrent.RejectedExecutionException if the backing executor refuses the
+     *         lane. The task stays queued, and runs once a later submission gets the lane scheduled.
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        scheduleDrain();
+    }
+
+    /**
+     * Hands the lane to the backing executor unless it is already scheduled.
+     */
+    private void scheduleDrain() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                backing.execute(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false); // Otherwise the lane would stay marked as scheduled and never run again
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs queued tasks, then releases the lane. A bounded batch keeps one busy room from
+     * monopolizing a pool thread.
+     */
+    private void drain() {
+        try {
+            for (int i = 0; i < 64; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    reportFailure(e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            scheduleDrain();
+        }
+    }
+
+    private void reportFailure(RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = failureHandler != null ? failureHandler : thread.getUncaughtExceptionHandler();
+        handler.uncaughtException(thread, e);
+    }
+}
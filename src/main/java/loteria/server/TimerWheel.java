@@ -0,0 +1,309 @@
+package loteria.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * A hashed timer wheel driven by a single thread.
+ * Timeouts are hashed into a ring of buckets by their deadline tick; each tick the worker only
+ * visits one bucket. Scheduling and cancelling are O(1), so one thread can keep thousands of
+ * room timers. Expired tasks run on the wheel thread and must be short; game rooms simply
+ * hand the work to their own lane. A task that throws is reported to the wheel's failure
+ * handler and the wheel keeps ticking.
+ */
+public final class TimerWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending;
+    /** The wheel thread, or null for a wheel driven by {@link #advance()}. */
+    private final Thread worker;
+    private final AtomicBoolean running;
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final Thread.UncaughtExceptionHandler failureHandler;
+    /** The next tick to expire; only touched by the thread driving the wheel. */
+    private long nextTick;
+
+    /**
+     * Constructs and starts a timer wheel. Failed tasks are reported to the wheel thread's
+     * uncaught exception handler.
+     *
+     * @param tickDuration The resolution of the wheel.
+     * @param unit         The unit of the tick duration.
+     * @param wheelSize    The number of buckets; rounded up to a power of two.
+     */
+    public TimerWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        this(tickDuration, unit, wheelSize, null);
+    }
+
+    /**
+     * Constructs and starts a timer wheel.
+     *
+     * @param tickDuration   The resolution of the wheel.
+     * @param unit           The unit of the tick duration.
+     * @param wheelSize      The number of buckets; rounded up to a power of two.
+     * @param failureHandler Receives every exception thrown by a task, on the wheel thread; null
+     *                       reports it to the wheel thread's own handler.
+     */
+    public TimerWheel(long tickDuration, TimeUnit unit, int wheelSize, Thread.UncaughtExceptionHandler failureHandler) {
+        this(tickDuration <= 0 ? 0 : unit.toNanos(tickDuration), wheelSize, failureHandler, System::nanoTime, true);
+    }
+
+    private TimerWheel(long tickNanos, int wheelSize, Thread.UncaughtExceptionHandler failureHandler,
+                       LongSupplier clock, boolean threaded) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive.");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1 == 0 ? 1 : wheelSize - 1) << 1;
+        this.tickNanos = tickNanos;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.running = new AtomicBoolean(true);
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        this.failureHandler = failureHandler;
+        if (threaded) {
+            this.worker = new Thread(this::run, "loteria-timer-wheel");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.worker = null;
+        }
+    }
+
+    /**
+     * Constructs a timer wheel with a 1 ms tick and 1024 buckets.
+     */
+    public TimerWheel() {
+        this(1, TimeUnit.MILLISECONDS, 1024);
+    }
+
+    /**
+     * Constructs a timer wheel without a thread, which expires timeouts only when
+     * {@link #advance()} is called, on the given clock. Lets the wheel be driven by a fake clock.
+     *
+     * @param tickNanos The resolution of the wheel, in nanoseconds.
+     * @param wheelSize The number of buckets; rounded up to a power of two.
+     * @param clock     The time source, in nanoTime units.
+     * @return The wheel.
+     */
+    static TimerWheel manual(long tickNanos, int wheelSize, LongSupplier clock) {
+        return new TimerWheel(tickNanos, wheelSize, null, clock, false);
+    }
+
+    /**
+     * Schedules a task to run once after a delay.
+     *
+     * @param task  The task to run on the wheel thread.
+     * @param delay The delay before running it.
+     * @param unit  The unit of the delay.
+     * @return A handle that can cancel the task.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, clock.getAsLong() + unit.toNanos(Math.max(0, delay)));
+    }
+
+    /**
+     * Schedules a task to run once at an absolute {@link System#nanoTime()} deadline.
+     *
+     * @param task          The task to run on the wheel thread.
+     * @param deadlineNanos The deadline in nanoTime units.
+     * @return A handle that can cancel the task.
+     */
+    public Timeout scheduleAt(Runnable task, long deadlineNanos) {
+        if (!running.get()) {
+            throw new IllegalStateException("Timer wheel has been stopped.");
+        }
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return The current time on the wheel's clock: {@link System#nanoTime()} unless the wheel
+     *         was created by {@link #manual}.
+     */
+    long nanoTime() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @return The tick resolution in nanoseconds.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Stops the wheel thread. Pending timeouts are discarded.
+     */
+    @Override
+    public void close() {
+        if (running.compareAndSet(true, false) && worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Expires every tick that has passed on the clock, running the due tasks on the calling
+     * thread. Only for a wheel created by {@link #manual}, which has no thread of its own.
+     */
+    void advance() {
+        while (running.get() && tickDeadline(nextTick) <= clock.getAsLong()) {
+            expireTick();
+        }
+    }
+
+    private void run() {
+        while (running.get()) {
+            long sleepNanos = tickDeadline(nextTick) - clock.getAsLong();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running.get()) {
+                        return;
+                    }
+                }
+            }
+            expireTick();
+        }
+    }
+
+    /**
+     * @return When the given tick ends, in nanoTime units.
+     */
+    private long tickDeadline(long tick) {
+        return startNanos + (tick + 1) * tickNanos;
+    }
+
+    private void expireTick() {
+        transferPending(nextTick);
+        wheel[(int) (nextTick & mask)].expire(clock.getAsLong());
+        nextTick++;
+    }
+
+    /**
+     * Moves newly scheduled timeouts into their buckets. Only the worker thread touches buckets.
+     */
+    private void transferPending(long currentTick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long deadlineTick = Math.max(currentTick, (timeout.deadlineNanos - startNanos) / tickNanos);
+            timeout.remainingRounds = (deadlineTick - currentTick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void reportFailure(RuntimeException e) {
+        Thread thread = worker != null ? worker : Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = failureHandler != null ? failureHandler : thread.getUncaughtExceptionHandler();
+        handler.uncaughtException(thread, e);
+    }
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicBoolean cancelled;
+        private long remainingRounds;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.cancelled = new AtomicBoolean(false);
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if this call cancelled it.
+         */
+        public boolean cancel() {
+            return cancelled.compareAndSet(false, true);
+        }
+
+        /**
+         * @return true if the task was cancelled.
+         */
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        /**
+         * @return The {@link System#nanoTime()} deadline of the task.
+         */
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+    }
+
+    /**
+     * A singly linked list of timeouts hashed to the same tick.
+     */
+    private final class Bucket {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.next = head;
+            head = timeout;
+        }
+
+        void expire(long nowNanos) {
+            Timeout previous = null;
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                boolean remove;
+                if (timeout.isCancelled()) {
+                    remove = true;
+                } else if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= nowNanos) {
+                    remove = true;
+                    if (timeout.cancel()) { // Claim the timeout so it runs only once
+                        try {
+                            timeout.task.run();
+                        } catch (RuntimeException e) {
+                            reportFailure(e);
+                        }
+                    }
+                } else {
+                    if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    }
+                    remove = false;
+                }
+                if (remove) {
+                    if (previous == null) {
+                        head = next;
+                    } else {
+                        previous.next = next;
+                    }
+                    timeout.next = null;
+                } else {
+                    previous = timeout;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
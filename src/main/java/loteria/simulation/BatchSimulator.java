@@ -0,0 +1,257 @@
+package loteria.simulation;
+
+import loteria.model.ClaimResult;
+import loteria.model.GameStatistics;
+import loteria.model.LoteriaCards;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.PatternCompletion;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays whole games headlessly, end to end, and streams one result line per game.
+ * Unlike {@link PatternSimulator}, which models the rules on bare arrays, this drives the real
+ * {@link LoteriaGame}: boards are generated, cards are called one by one with automatic winner
+ * detection, and the first completed pattern is claimed through {@link LoteriaGame#claimWin}.
+ *
+ * <p>Games are handed out to worker threads one at a time. Game {@code i} is seeded from the
+ * batch seed and {@code i} alone, so its line is the same whatever the thread count and can be
+ * replayed with {@code new LoteriaGame(players, seed)}; only the order of lines varies.
+ * Workers buffer their lines and write them in chunks, so output streams while the batch runs.
+ */
+public class BatchSimulator {
+
+    /** The output formats of the per-game lines. */
+    public enum Format {
+        /** Comma-separated values with a header line. */
+        CSV,
+        /** One JSON object per line. */
+        JSON
+    }
+
+    private static final String CSV_HEADER = "game,seed,winner,board,pattern,type,calls,completions,micros";
+
+    /** Lines a worker buffers before writing them out. */
+    private static final int FLUSH_LINES = 256;
+
+    /** Spreads game indexes over the seed space (the golden-ratio increment of SplittableRandom). */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int players;
+    private final int boardsPerPlayer;
+    private final int boardSize;
+
+    /**
+     * Constructs a simulator for games with a fixed number of players and boards.
+     *
+     * @param players         The number of players in every game.
+     * @param boardsPerPlayer The number of boards each player holds.
+     * @param boardSize       The dimension of every board.
+     */
+    public BatchSimulator(int players, int boardsPerPlayer, int boardSize) {
+        if (players <= 0) {
+            throw new IllegalArgumentException("There must be at least one player per game.");
+        }
+        if (boardsPerPlayer <= 0) {
+            throw new IllegalArgumentException("Every player needs at least one board.");
+        }
+        if (boardSize <= 0 || boardSize * boardSize > LoteriaCards.CARD_COUNT) {
+            // Every cell needs a distinct card from the deck
+            throw new IllegalArgumentException("Board size must be between 1 and " + PlayerBoard.MAX_SIZE + ".");
+        }
+        this.players = players;
+        this.boardsPerPlayer = boardsPerPlayer;
+        this.boardSize = boardSize;
+    }
+
+    /**
+     * Runs the batch and writes one line per game. The writer is flushed but not closed.
+     *
+     * @param games   The number of games to play.
+     * @param threads The number of worker threads.
+     * @param seed    The batch seed.
+     * @param format  The line format.
+     * @param out     Where the lines go.
+     * @return Statistics over every game played.
+     * @throws IOException           if writing fails.
+     * @throws IllegalStateException if a game fails or the batch is interrupted.
+     */
+    public GameStatistics run(long games, int threads, long seed, Format format, Writer out) throws IOException {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+
+        GameStatistics statistics = new GameStatistics(0);
+        AtomicLong nextGame = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "loteria-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    play(games, seed, format, out, nextGame, statistics);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Batch simulation failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        out.flush();
+        return statistics;
+    }
+
+    /**
+     * @param batchSeed The batch seed.
+     * @param game      The game index.
+     * @return The session seed of that game.
+     */
+    public static long gameSeed(long batchSeed, long game) {
+        return new SplittableRandom(batchSeed + game * SEED_GAMMA).nextLong();
+    }
+
+    /**
+     * A worker: plays games until the batch is exhausted.
+     */
+    private void play(long games, long seed, Format format, Writer out, AtomicLong nextGame,
+                      GameStatistics statistics) throws LoteriaException {
+        StringBuilder lines = new StringBuilder(FLUSH_LINES * 96);
+        int buffered = 0;
+        for (long game = nextGame.getAndIncrement(); game < games; game = nextGame.getAndIncrement()) {
+            long start = System.nanoTime();
+            LoteriaGame played = playGame(gameSeed(seed, game));
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            statistics.recordGame(played.createResult(micros / 1_000), played.getCalledCardMask());
+            appendLine(lines, format, game, played, micros);
+            if (++buffered == FLUSH_LINES) {
+                write(out, lines);
+                buffered = 0;
+            }
+        }
+        write(out, lines);
+    }
+
+    /**
+     * Plays one game: calls cards until a board completes a pattern, then claims it.
+     */
+    private LoteriaGame playGame(long sessionSeed) throws LoteriaException {
+        LoteriaGame game = new LoteriaGame(players, sessionSeed);
+        game.setAutoDetectWinners(true);
+        for (int p = 1; p <= players; p++) {
+            Player player = new Player("Player " + p);
+            for (int b = 0; b < boardsPerPlayer; b++) {
+                player.addBoard(new PlayerBoard(boardSize, player));
+            }
+            game.addPlayer(player);
+        }
+        game.startGame();
+
+        while (game.remainingCards() > 0) {
+            game.callNextCardId();
+            List<PatternCompletion> completions = game.getLastCompletions();
+            if (!completions.isEmpty()) {
+                PatternCompletion first = completions.get(0);
+                if (game.claimWin(first.getPlayer(), first.getPattern()).isAccepted()) {
+                    return game;
+                }
+            }
+        }
+        game.cancelGame(); // No standard pattern can stay incomplete, but never loop forever
+        return game;
+    }
+
+    private void appendLine(StringBuilder lines, Format format, long index, LoteriaGame game, long micros) {
+        ClaimResult claim = game.getWinningClaim();
+        int completions = game.getLastCompletions().size();
+        String winner = claim == null ? "" : claim.getPlayer().getName();
+        int board = claim == null ? -1 : claim.getPlayer().getBoards().indexOf(claim.getBoard());
+        String pattern = claim == null ? "" : claim.getPattern().getName();
+        String type = claim == null ? "" : claim.getPattern().getType().name();
+        if (format == Format.CSV) {
+            lines.append(index).append(',').append(game.getSessionSeed()).append(',');
+            appendCsv(lines, winner).append(',').append(board).append(',');
+            appendCsv(lines, pattern).append(',').append(type).append(',')
+                 .append(game.getCallCount()).append(',').append(completions).append(',').append(micros).append('\n');
+        } else {
+            lines.append("{\"game\":").append(index).append(",\"seed\":").append(game.getSessionSeed())
+                 .append(",\"winner\":");
+            appendJson(lines, winner).append(",\"board\":").append(board).append(",\"pattern\":");
+            appendJson(lines, pattern).append(",\"type\":");
+            appendJson(lines, type).append(",\"calls\":").append(game.getCallCount())
+                 .append(",\"completions\":").append(completions).append(",\"micros\":").append(micros).append("}\n");
+        }
+    }
+
+    private static StringBuilder appendCsv(StringBuilder lines, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return lines.append(value);
+        }
+        return lines.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendJson(StringBuilder lines, String value) {
+        lines.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                lines.append('\\').append(c);
+            } else if (c < 0x20) {
+                lines.append(String.format("\\u%04x", (int) c));
+            } else {
+                lines.append(c);
+            }
+        }
+        return lines.append('"');
+    }
+
+    /**
+     * Writes and clears a worker's buffered lines, one chunk at a time across all workers.
+     */
+    private static void write(Writer out, StringBuilder lines) {
+        if (lines.length() == 0) {
+            return;
+        }
+        synchronized (out) {
+            try {
+                out.append(lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        lines.setLength(0);
+    }
+}
@@ -0,0 +1,228 @@
+package loteria.simulation;
+
+import loteria.model.Deck;
+import loteria.model.LoteriaGame;
+import loteria.model.PatternType;
+import loteria.model.PlayerBoard;
+import loteria.model.StandardPatterns;
+import loteria.model.WinningPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A headless Monte Carlo engine that estimates how quickly each standard pattern is won.
+ * Each simulated game shuffles a calling order, deals random boards, and records, per
+ * pattern type, how many cards were called before the first board completed it and how
+ * many boards completed it on that same call.
+ *
+ * <p>Games are split evenly across worker threads. Each worker owns a generator split from
+ * the seeded session generator plus a fixed set of scratch arrays, so the inner loop does
+ * not allocate and a given seed and thread count always produce the same report.
+ */
+public class PatternSimulator {
+
+    private final int boardSize;
+    private final int boardsPerGame;
+    private final int deckSize;
+    private final PatternType[] types;
+    private final int[][] patternCells;
+    private final int[] patternTypeIndex;
+
+    /**
+     * Constructs a simulator for games with a fixed board size and number of boards.
+     *
+     * @param boardSize     The dimension of every board.
+     * @param boardsPerGame The number of boards in play in each game.
+     */
+    public PatternSimulator(int boardSize, int boardsPerGame) {
+        if (boardSize <= 0 || boardSize > PlayerBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + PlayerBoard.MAX_SIZE + ".");
+        }
+        if (boardsPerGame <= 0) {
+            throw new IllegalArgumentException("There must be at least one board per game.");
+        }
+        this.deckSize = new Deck().getAllCards().size();
+        if (boardSize * boardSize > deckSize) {
+            throw new IllegalArgumentException("Deck does not have enough cards for a board of size " + boardSize);
+        }
+        this.boardSize = boardSize;
+        this.boardsPerGame = boardsPerGame;
+
+        // Flatten the standard patterns into cell lists, grouped by pattern type
+        List<WinningPattern> patterns = StandardPatterns.getAllStandardPatterns(boardSize);
+        List<PatternType> typeList = new ArrayList<>();
+        this.patternCells = new int[patterns.size()][];
+        this.patternTypeIndex = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            WinningPattern pattern = patterns.get(p);
+            if (!typeList.contains(pattern.getType())) {
+                typeList.add(pattern.getType());
+            }
+            patternTypeIndex[p] = typeList.indexOf(pattern.getType());
+            long mask = pattern.getCellMask(boardSize);
+            int[] cells = new int[Long.bitCount(mask)];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = Long.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+            }
+            patternCells[p] = cells;
+        }
+        this.types = typeList.toArray(new PatternType[0]);
+    }
+
+    /**
+     * Runs the simulation on all available processors.
+     *
+     * @param games The number of games to simulate.
+     * @param seed  The session seed.
+     * @return The aggregated report.
+     */
+    public SimulationReport run(long games, long seed) {
+        return run(games, Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param games   The number of games to simulate.
+     * @param threads The number of worker threads.
+     * @param seed    The session seed.
+     * @return The aggregated report.
+     */
+    public SimulationReport run(long games, int threads, long seed) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        RandomGenerator.SplittableGenerator sessionRandom = (RandomGenerator.SplittableGenerator)
+                RandomGeneratorFactory.of(LoteriaGame.DEFAULT_RANDOM_ALGORITHM).create(seed);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[][]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                long share = games / threads + (t < games % threads ? 1 : 0);
+                RandomGenerator random = sessionRandom.split();
+                futures.add(executor.submit(() -> simulate(share, random)));
+            }
+
+            long[][] histograms = new long[types.length][deckSize + 1];
+            long[] simultaneousWinners = new long[types.length];
+            for (Future<long[][]> future : futures) {
+                long[][] tally = future.get();
+                for (int t = 0; t < types.length; t++) {
+                    for (int calls = 0; calls <= deckSize; calls++) {
+                        histograms[t][calls] += tally[t][calls];
+                    }
+                    simultaneousWinners[t] += tally[types.length][t];
+                }
+            }
+            return new SimulationReport(boardSize, boardsPerGame, games, types, histograms, simultaneousWinners);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Simulates a share of the games on the calling thread.
+     *
+     * @param games  The number of games to simulate.
+     * @param random The worker's own generator.
+     * @return One cards-called histogram per pattern type, followed by a row of simultaneous-winner totals.
+     */
+    private long[][] simulate(long games, RandomGenerator random) {
+        int cellCount = boardSize * boardSize;
+        long[][] tally = new long[types.length + 1][];
+        for (int t = 0; t < types.length; t++) {
+            tally[t] = new long[deckSize + 1];
+        }
+        tally[types.length] = new long[types.length];
+
+        int[] callOrder = identity(deckSize);
+        int[] boardOrder = identity(deckSize);
+        int[] callTime = new int[deckSize];
+        int[] cellTime = new int[cellCount];
+        int[] bestTime = new int[types.length];
+        int[] winnersAtBest = new int[types.length];
+        int[] boardBest = new int[types.length];
+
+        for (long game = 0; game < games; game++) {
+            // Shuffle the calling order; callTime[card] is the 1-based call that draws it
+            shuffle(callOrder, deckSize, random);
+            for (int call = 0; call < deckSize; call++) {
+                callTime[callOrder[call]] = call + 1;
+            }
+            for (int t = 0; t < types.length; t++) {
+                bestTime[t] = Integer.MAX_VALUE;
+                winnersAtBest[t] = 0;
+            }
+
+            for (int board = 0; board < boardsPerGame; board++) {
+                shuffle(boardOrder, cellCount, random);
+                for (int cell = 0; cell < cellCount; cell++) {
+                    cellTime[cell] = callTime[boardOrder[cell]];
+                }
+                for (int t = 0; t < types.length; t++) {
+                    boardBest[t] = Integer.MAX_VALUE;
+                }
+                // A pattern completes on the call of its last cell; a board wins a type on its earliest pattern
+                for (int p = 0; p < patternCells.length; p++) {
+                    int completion = 0;
+                    for (int cell : patternCells[p]) {
+                        completion = Math.max(completion, cellTime[cell]);
+                    }
+                    int t = patternTypeIndex[p];
+                    boardBest[t] = Math.min(boardBest[t], completion);
+                }
+                for (int t = 0; t < types.length; t++) {
+                    if (boardBest[t] < bestTime[t]) {
+                        bestTime[t] = boardBest[t];
+                        winnersAtBest[t] = 1;
+                    } else if (boardBest[t] == bestTime[t]) {
+                        winnersAtBest[t]++;
+                    }
+                }
+            }
+
+            for (int t = 0; t < types.length; t++) {
+                tally[t][bestTime[t]]++;
+                tally[types.length][t] += winnersAtBest[t];
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * Moves a uniformly random selection of {@code count} entries into the leading slots (partial Fisher-Yates).
+     */
+    private static void shuffle(int[] order, int count, RandomGenerator random) {
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(order.length - i);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,167 @@
+package loteria.simulation;
+
+import loteria.model.PatternType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The immutable outcome of a {@link PatternSimulator} run for one board size.
+ * For every standard pattern type it holds the distribution of cards called before the
+ * first board completed that type, and the total number of boards that completed it on
+ * that same call (simultaneous winners).
+ */
+public final class SimulationReport {
+
+    private final int boardSize;
+    private final int boardsPerGame;
+    private final long games;
+    private final List<PatternType> types;
+    private final long[][] histograms;
+    private final long[] simultaneousWinners;
+
+    SimulationReport(int boardSize, int boardsPerGame, long games, PatternType[] types,
+                     long[][] histograms, long[] simultaneousWinners) {
+        this.boardSize = boardSize;
+        this.boardsPerGame = boardsPerGame;
+        this.games = games;
+        this.types = List.of(types);
+        this.histograms = histograms;
+        this.simultaneousWinners = simultaneousWinners;
+    }
+
+    /**
+     * @return The board dimension that was simulated.
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * @return The number of boards in play in each simulated game.
+     */
+    public int getBoardsPerGame() {
+        return boardsPerGame;
+    }
+
+    /**
+     * @return The number of games simulated.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return The pattern types covered by this report, in standard pattern order.
+     */
+    public List<PatternType> getPatternTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Gets the distribution of cards called before the first win of a pattern type.
+     * Entry {@code n} is the number of games whose first win came on call {@code n}.
+     *
+     * @param type The pattern type.
+     * @return A copy of the histogram.
+     */
+    public long[] getCardsCalledHistogram(PatternType type) {
+        return histogramOf(type).clone();
+    }
+
+    /**
+     * @param type The pattern type.
+     * @return The mean number of cards called before the first board completed the type.
+     */
+    public double getMeanCardsCalled(PatternType type) {
+        long[] histogram = histogramOf(type);
+        double total = 0;
+        for (int calls = 0; calls < histogram.length; calls++) {
+            total += (double) calls * histogram[calls];
+        }
+        return total / games;
+    }
+
+    /**
+     * @param type     The pattern type.
+     * @param fraction The percentile as a fraction between 0 and 1 (e.g. 0.95).
+     * @return The smallest call number by which at least that fraction of games had a winner.
+     */
+    public int getCardsCalledPercentile(PatternType type, double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        long[] histogram = histogramOf(type);
+        long target = (long) Math.ceil(fraction * games);
+        long seen = 0;
+        for (int calls = 0; calls < histogram.length; calls++) {
+            seen += histogram[calls];
+            if (seen >= target && seen > 0) {
+                return calls;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * @param type The pattern type.
+     * @return The expected number of boards that complete the type on the first winning call.
+     */
+    public double getExpectedSimultaneousWinners(PatternType type) {
+        return (double) simultaneousWinners[indexOf(type)] / games;
+    }
+
+    /**
+     * Suggests point values proportional to how long each pattern type takes to win,
+     * anchored on one type's existing value. Slower patterns are rarer and pay more.
+     *
+     * @param anchorType   The pattern type whose value is kept.
+     * @param anchorPoints The point value of the anchor type.
+     * @return A map from pattern type to suggested points (at least 1).
+     */
+    public Map<PatternType, Integer> suggestPointValues(PatternType anchorType, int anchorPoints) {
+        double anchorMean = getMeanCardsCalled(anchorType);
+        Map<PatternType, Integer> points = new EnumMap<>(PatternType.class);
+        for (PatternType type : types) {
+            long suggested = Math.round(anchorPoints * getMeanCardsCalled(type) / anchorMean);
+            points.put(type, (int) Math.max(1, suggested));
+        }
+        return points;
+    }
+
+    private long[] histogramOf(PatternType type) {
+        return histograms[indexOf(type)];
+    }
+
+    private int indexOf(PatternType type) {
+        int index = types.indexOf(type);
+        if (index < 0) {
+            throw new IllegalArgumentException("Pattern type was not simulated: " + type);
+        }
+        return index;
+    }
+
+    /**
+     * Returns a formatted table of the report.
+     *
+     * @return A multi-line summary, one row per pattern type.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("--- Pattern Simulation: ").append(boardSize).append('x').append(boardSize)
+              .append(", ").append(boardsPerGame).append(" boards, ").append(games).append(" games ---\n");
+        report.append(String.format("%-16s %8s %6s %6s %6s %10s%n", "Pattern", "Mean", "P50", "P90", "P99", "Winners"));
+        for (PatternType type : types) {
+            report.append(String.format("%-16s %8.2f %6d %6d %6d %10.3f%n", type,
+                    getMeanCardsCalled(type),
+                    getCardsCalledPercentile(type, 0.50),
+                    getCardsCalledPercentile(type, 0.90),
+                    getCardsCalledPercentile(type, 0.99),
+                    getExpectedSimultaneousWinners(type)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,212 @@
+package loteria.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import loteria.model.LoteriaCard;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The hall operator's monitor: every board of every player, drawn on a single Canvas.
+ * Each board is a small tile of numbered cells. A full paint only happens when the boards
+ * are bound; after that, each card call queues just the cells it hit (taken from the game's
+ * card index) and an animation timer repaints those cells on the next frame. This keeps
+ * per-frame work proportional to the marks that changed, not to the number of boards.
+ * Marks are painted from the called cards of the snapshot being rendered, never from the live
+ * boards, which the game thread may already have marked further.
+ */
+public class BoardDashboard extends ScrollPane {
+
+    private static final double CELL = 18;
+    private static final double GAP = 10;
+    private static final double LABEL_HEIGHT = 14;
+    private static final double DEFAULT_WIDTH = 1000;
+
+    private static final Color BACKGROUND = Color.web("#F5F5DC");
+    private static final Color CELL_FILL = Color.WHITE;
+    private static final Color MARK_FILL = Color.web("#C62828");
+    private static final Color GRID_LINE = Color.GRAY;
+
+    private final Canvas canvas;
+    private final Font cellFont;
+    private final Font labelFont;
+    private final AnimationTimer repaintTimer;
+
+    private final List<PlayerBoard> tiles;
+    private final Map<PlayerBoard, Integer> tileIndex;
+    private int columns;
+    private double tileWidth;
+    private double tileHeight;
+
+    /** Pending (tile, cell) repaints, packed as tile * 64 + cell. Only touched on the FX thread. */
+    private int[] dirty;
+    private int dirtyCount;
+    private boolean fullRepaint;
+    /** The called cards of the snapshot being rendered. Only touched on the FX thread. */
+    private long calledCardMask;
+
+    /**
+     * Constructs an empty dashboard.
+     */
+    public BoardDashboard() {
+        this.canvas = new Canvas();
+        this.cellFont = Font.font("System", 9);
+        this.labelFont = Font.font("System", 10);
+        this.tiles = new ArrayList<>();
+        this.tileIndex = new IdentityHashMap<>();
+        this.dirty = new int[256];
+        setContent(canvas);
+        setPannable(true);
+        this.repaintTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                repaint();
+            }
+        };
+    }
+
+    /**
+     * Lays out a tile for every board of every player and schedules a full paint.
+     *
+     * @param players        The players whose boards are shown.
+     * @param width          The width available for the tiles, in pixels.
+     * @param calledCardMask The called cards of the snapshot being rendered.
+     */
+    public void bind(List<Player> players, double width, long calledCardMask) {
+        this.calledCardMask = calledCardMask;
+        tiles.clear();
+        tileIndex.clear();
+        int boardSize = 1;
+        for (Player player : players) {
+            for (PlayerBoard board : player.getBoards()) {
+                tileIndex.put(board, tiles.size());
+                tiles.add(board);
+                boardSize = Math.max(boardSize, board.getSize());
+            }
+        }
+        tileWidth = boardSize * CELL + GAP;
+        tileHeight = boardSize * CELL + LABEL_HEIGHT + GAP;
+        columns = Math.max(1, (int) ((width > 0 ? width : DEFAULT_WIDTH) / tileWidth));
+        int rows = (tiles.size() + columns - 1) / columns;
+        canvas.setWidth(columns * tileWidth + GAP);
+        canvas.setHeight(Math.max(1, rows) * tileHeight + GAP);
+        dirtyCount = 0;
+        fullRepaint = true;
+    }
+
+    /**
+     * Queues repaints for the cells a call marked. Must be called on the FX thread, while
+     * rendering the snapshot that includes the call.
+     *
+     * @param controller     The controller of the game the card was called in; finds the cells it hit.
+     * @param card           The card that was called.
+     * @param calledCardMask The called cards of the snapshot being rendered.
+     */
+    public void cardCalled(GameController controller, LoteriaCard card, long calledCardMask) {
+        this.calledCardMask = calledCardMask;
+        if (fullRepaint) {
+            return; // Everything is repainted on the next frame anyway
+        }
+        controller.forEachBoardHolding(card, (board, cell) -> {
+            Integer tile = tileIndex.get(board);
+            if (tile != null) {
+                if (dirtyCount == dirty.length) {
+                    dirty = Arrays.copyOf(dirty, dirty.length * 2);
+                }
+                dirty[dirtyCount++] = tile * Long.SIZE + cell;
+            }
+        });
+    }
+
+    /**
+     * Starts repainting on every animation frame.
+     */
+    public void start() {
+        repaintTimer.start();
+    }
+
+    /**
+     * Stops repainting, e.g. when the monitor window is closed.
+     */
+    public void stop() {
+        repaintTimer.stop();
+    }
+
+    /**
+     * Paints whatever changed since the last frame.
+     */
+    private void repaint() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (fullRepaint) {
+            fullRepaint = false;
+            dirtyCount = 0;
+            gc.setFill(BACKGROUND);
+            gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            for (int tile = 0; tile < tiles.size(); tile++) {
+                paintTile(gc, tile);
+            }
+            return;
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            int tile = dirty[i] / Long.SIZE;
+            paintCell(gc, tile, dirty[i] % Long.SIZE);
+        }
+        dirtyCount = 0;
+    }
+
+    private void paintTile(GraphicsContext gc, int tile) {
+        PlayerBoard board = tiles.get(tile);
+        gc.setFill(Color.BLACK);
+        gc.setFont(labelFont);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.TOP);
+        gc.fillText(board.getOwner().getName(), tileX(tile), tileY(tile), board.getSize() * CELL);
+        int cellCount = board.getSize() * board.getSize();
+        for (int cell = 0; cell < cellCount; cell++) {
+            paintCell(gc, tile, cell);
+        }
+    }
+
+    private void paintCell(GraphicsContext gc, int tile, int cell) {
+        PlayerBoard board = tiles.get(tile);
+        int size = board.getSize();
+        double x = tileX(tile) + (cell % size) * CELL;
+        double y = tileY(tile) + LABEL_HEIGHT + (cell / size) * CELL;
+        int cardId = board.getCardId(cell / size, cell % size);
+        boolean marked = cardId != 0 && (calledCardMask & (1L << cardId)) != 0;
+
+        gc.setFill(marked ? MARK_FILL : CELL_FILL);
+        gc.fillRect(x, y, CELL, CELL);
+        gc.setStroke(GRID_LINE);
+        gc.strokeRect(x + 0.5, y + 0.5, CELL - 1, CELL - 1);
+
+        LoteriaCard card = board.getCard(cell / size, cell % size);
+        if (card != null) {
+            gc.setFill(marked ? Color.WHITE : Color.BLACK);
+            gc.setFont(cellFont);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.fillText(Integer.toString(card.getCardNumber()), x + CELL / 2, y + CELL / 2);
+        }
+    }
+
+    private double tileX(int tile) {
+        return GAP + (tile % columns) * tileWidth;
+    }
+
+    private double tileY(int tile) {
+        return GAP + (tile / columns) * tileHeight;
+    }
+}
@@ -0,0 +1,185 @@
+package loteria.view;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import loteria.model.LoteriaCard;
+import loteria.model.PlayerBoard;
+
+/**
+ * A retained-mode view of a single player board.
+ * The cell nodes are created once and rebound when a different board is shown, and the view
+ * remembers which marks it is currently displaying. After a card call only the cells whose
+ * marker bit changed are touched, so UI work per call is constant. Marks are drawn from the
+ * called cards of the snapshot being rendered, never from the live board, which the game
+ * thread may already have marked further.
+ */
+public class BoardView extends GridPane {
+
+    private static final double CELL_WIDTH = 70;
+    private static final double CELL_HEIGHT = 100;
+
+    private static final String IMAGE_MARK_STYLE = "-fx-text-fill: red; -fx-font-size: 48px; -fx-font-weight: bold; " +
+            "-fx-background-color: rgba(255,255,255,0.8); -fx-padding: 5px; " +
+            "-fx-border-color: red; -fx-border-width: 2px;";
+    private static final String TEXT_MARK_STYLE = "-fx-text-fill: red; -fx-font-size: 24px; -fx-font-weight: bold;";
+    private static final String TEXT_CARD_STYLE = "-fx-background-color: white; -fx-border-color: black; -fx-border-width: 1px; " +
+            "-fx-text-alignment: center; -fx-font-size: 10px; -fx-padding: 5px;";
+    private static final String MISSING_CARD_STYLE = "-fx-background-color: red; -fx-text-fill: white;";
+
+    private final CardImageCache imageCache;
+    private final StackPane placeholder;
+    private final Label placeholderLabel;
+
+    private int size;
+    private StackPane[] cells;
+    private ImageView[] images;
+    private Label[] texts;
+    private Label[] marks;
+
+    private PlayerBoard board;
+    private long shownMarks;
+
+    /**
+     * Constructs an empty board view.
+     *
+     * @param imageCache The cache the card artwork is taken from.
+     */
+    public BoardView(CardImageCache imageCache) {
+        this.imageCache = imageCache;
+        this.placeholderLabel = new Label();
+        this.placeholderLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
+        this.placeholder = new StackPane(placeholderLabel);
+        this.cells = new StackPane[0];
+        setAlignment(Pos.CENTER);
+        setHgap(10);
+        setVgap(10);
+    }
+
+    /**
+     * Replaces the grid with a message, e.g. while waiting for the game to start.
+     *
+     * @param message The message to show.
+     */
+    public void showMessage(String message) {
+        board = null;
+        placeholderLabel.setText(message);
+        getChildren().setAll(placeholder);
+        setColumnSpan(placeholder, Math.max(1, size));
+        setRowSpan(placeholder, Math.max(1, size));
+    }
+
+    /**
+     * Removes everything from the view.
+     */
+    public void clear() {
+        board = null;
+        getChildren().clear();
+    }
+
+    /**
+     * Shows a board, reusing the existing cell nodes.
+     *
+     * @param newBoard       The board to show.
+     * @param calledCardMask The called cards of the snapshot being rendered.
+     */
+    public void bind(PlayerBoard newBoard, long calledCardMask) {
+        if (cells.length != newBoard.getSize() * newBoard.getSize()) {
+            createCells(newBoard.getSize());
+        }
+        if (getChildren().size() != cells.length || getChildren().get(0) != cells[0]) {
+            getChildren().setAll(cells);
+        }
+        this.board = newBoard;
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            LoteriaCard card = newBoard.getCard(cell / size, cell % size);
+            if (card == null) {
+                System.err.println("Error: Card at (" + cell / size + "," + cell % size + ") is null. Board may not be generated.");
+                showText(cell, "NULL", MISSING_CARD_STYLE, TEXT_MARK_STYLE);
+            } else if (imageCache.show(images[cell], card.getCardNumber(), CardImageCache.CardSize.BOARD)) {
+                images[cell].setVisible(true);
+                texts[cell].setVisible(false);
+                marks[cell].setStyle(IMAGE_MARK_STYLE);
+            } else {
+                showText(cell, "#" + card.getCardNumber() + "\n" + card.getSpanishName(), TEXT_CARD_STYLE, TEXT_MARK_STYLE);
+            }
+        }
+
+        shownMarks = newBoard.getCalledCellMask(calledCardMask);
+        for (int cell = 0; cell < cells.length; cell++) {
+            marks[cell].setVisible((shownMarks & (1L << cell)) != 0);
+        }
+    }
+
+    /**
+     * Brings the marks up to date with a snapshot, touching only the cells that changed.
+     *
+     * @param calledCardMask The called cards of the snapshot being rendered.
+     */
+    public void refreshMarks(long calledCardMask) {
+        if (board == null) {
+            return;
+        }
+        long current = board.getCalledCellMask(calledCardMask);
+        long changed = current ^ shownMarks;
+        while (changed != 0L) {
+            int cell = Long.numberOfTrailingZeros(changed);
+            marks[cell].setVisible((current & (1L << cell)) != 0);
+            changed &= changed - 1;
+        }
+        shownMarks = current;
+    }
+
+    /**
+     * @return The board currently shown, or null if none is bound.
+     */
+    public PlayerBoard getBoard() {
+        return board;
+    }
+
+    private void showText(int cell, String text, String textStyle, String markStyle) {
+        images[cell].setImage(null);
+        images[cell].setVisible(false);
+        texts[cell].setText(text);
+        texts[cell].setStyle(textStyle);
+        texts[cell].setVisible(true);
+        marks[cell].setStyle(markStyle);
+    }
+
+    /**
+     * Builds the pool of cell nodes for a board size. Only happens when the size changes.
+     */
+    private void createCells(int newSize) {
+        this.size = newSize;
+        int count = newSize * newSize;
+        cells = new StackPane[count];
+        images = new ImageView[count];
+        texts = new Label[count];
+        marks = new Label[count];
+        for (int cell = 0; cell < count; cell++) {
+            ImageView image = new ImageView();
+            image.setFitHeight(CELL_HEIGHT);
+            image.setFitWidth(CELL_WIDTH);
+            image.setPreserveRatio(true);
+
+            Label text = new Label();
+            text.setPrefSize(CELL_WIDTH, CELL_HEIGHT);
+            text.setVisible(false);
+
+            Label mark = new Label("X");
+            mark.setVisible(false); // Initially hidden
+
+            StackPane cellPane = new StackPane(image, text, mark);
+            cellPane.setPrefSize(CELL_WIDTH, CELL_HEIGHT);
+            GridPane.setConstraints(cellPane, cell % newSize, cell / newSize);
+
+            cells[cell] = cellPane;
+            images[cell] = image;
+            texts[cell] = text;
+            marks[cell] = mark;
+        }
+    }
+}
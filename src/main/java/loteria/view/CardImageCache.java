@@ -0,0 +1,258 @@
+package loteria.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A shared cache of card artwork, decoded once per display size.
+ * The build packs every card, pre-scaled to each display size, into one sprite atlas per size
+ * (see build-tools/AtlasGenerator.java). Each atlas is decoded once and cards are shown as
+ * viewports into it, so no per-card decoding or copying happens. When an atlas is not
+ * available (e.g. running from an IDE without the Maven build), cards fall back to being
+ * decoded individually at display size and held through soft references.
+ * {@link #preloadAsync()} warms the cache on a background thread at startup so switching
+ * boards never waits on image decoding.
+ */
+public class CardImageCache {
+
+    /**
+     * The sizes card images are displayed at.
+     */
+    public enum CardSize {
+        /** A cell of a player's board. */
+        BOARD(70, 100),
+
+        /** The caller's card display. */
+        CALLER(120, 180);
+
+        private final int width;
+        private final int height;
+
+        CardSize(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * @return The display width in pixels.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return The display height in pixels.
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return The base name of this size's atlas resources, e.g. "atlas-70x100".
+         */
+        String atlasName() {
+            return "atlas-" + width + "x" + height;
+        }
+    }
+
+    /** Card numbers index the cache directly. */
+    private static final int MAX_CARD_NUMBER = 54;
+
+    private static final String MEDIA_PATH = "data/media/";
+    private static final String ATLAS_PATH = "data/atlas/";
+
+    /** Stands in for an image that does not exist, so missing files are only looked up once. */
+    private static final SoftReference<Image> MISSING = new SoftReference<>(null);
+
+    /** Stands in for an atlas that is not packaged, so it is only looked up once. */
+    private static final Atlas NO_ATLAS = new Atlas(null, new Rectangle2D[0]);
+
+    private final AtomicReferenceArray<Atlas> atlases;
+    private final AtomicReferenceArray<SoftReference<Image>>[] cache;
+
+    /**
+     * Constructs an empty cache.
+     */
+    @SuppressWarnings("unchecked")
+    public CardImageCache() {
+        this.atlases = new AtomicReferenceArray<>(CardSize.values().length);
+        this.cache = new AtomicReferenceArray[CardSize.values().length];
+        for (CardSize size : CardSize.values()) {
+            cache[size.ordinal()] = new AtomicReferenceArray<>(MAX_CARD_NUMBER + 1);
+        }
+    }
+
+    /**
+     * Shows a card in an image view, as a viewport into the size's atlas when one is packaged.
+     *
+     * @param view       The view to update.
+     * @param cardNumber The card number (1-54).
+     * @param size       The display size.
+     * @return true if artwork was found, false if the view was cleared.
+     */
+    public boolean show(ImageView view, int cardNumber, CardSize size) {
+        Atlas atlas = atlas(size);
+        if (atlas != NO_ATLAS && cardNumber >= 1 && cardNumber < atlas.viewports.length
+                && atlas.viewports[cardNumber] != null) {
+            view.setImage(atlas.image);
+            view.setViewport(atlas.viewports[cardNumber]);
+            return true;
+        }
+        Image image = get(cardNumber, size);
+        view.setViewport(null);
+        view.setImage(image);
+        return image != null;
+    }
+
+    /**
+     * Gets the image of a card at a display size, decoding it individually if it is not cached.
+     * Prefer {@link #show(ImageView, int, CardSize)}, which avoids per-card decoding.
+     *
+     * @param cardNumber The card number (1-54).
+     * @param size       The display size.
+     * @return The decoded image, or null if the card has no artwork.
+     */
+    public Image get(int cardNumber, CardSize size) {
+        if (cardNumber < 1 || cardNumber > MAX_CARD_NUMBER) {
+            return null;
+        }
+        AtomicReferenceArray<SoftReference<Image>> images = cache[size.ordinal()];
+        SoftReference<Image> cached = images.get(cardNumber);
+        if (cached == MISSING) {
+            return null;
+        }
+        Image image = cached != null ? cached.get() : null;
+        if (image == null) {
+            image = decode(cardNumber, size);
+            images.set(cardNumber, image != null ? new SoftReference<>(image) : MISSING);
+        }
+        return image;
+    }
+
+    /**
+     * Decodes every display size on a background daemon thread: one atlas per size, or
+     * every card individually when no atlas is packaged.
+     */
+    public void preloadAsync() {
+        Thread loader = new Thread(() -> {
+            for (CardSize size : CardSize.values()) {
+                if (atlas(size) != NO_ATLAS) {
+                    continue;
+                }
+                for (int cardNumber = 1; cardNumber <= MAX_CARD_NUMBER; cardNumber++) {
+                    get(cardNumber, size);
+                }
+            }
+        }, "loteria-image-preload");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Gets the atlas of a display size, loading it on first use.
+     */
+    private Atlas atlas(CardSize size) {
+        Atlas atlas = atlases.get(size.ordinal());
+        if (atlas == null) {
+            atlas = loadAtlas(size);
+            atlases.compareAndSet(size.ordinal(), null, atlas);
+            atlas = atlases.get(size.ordinal());
+        }
+        return atlas;
+    }
+
+    /**
+     * Reads an atlas index ("card=x,y,width,height") and decodes its image.
+     */
+    private Atlas loadAtlas(CardSize size) {
+        String base = ATLAS_PATH + size.atlasName();
+        Properties index = new Properties();
+        try (InputStream indexStream = openResource(base + ".properties")) {
+            if (indexStream == null) {
+                return NO_ATLAS;
+            }
+            index.load(indexStream);
+        } catch (IOException e) {
+            System.err.println("Exception loading atlas index " + base + ": " + e.getMessage());
+            return NO_ATLAS;
+        }
+
+        Image image;
+        try (InputStream imageStream = openResource(base + ".jpg")) {
+            if (imageStream == null) {
+                return NO_ATLAS;
+            }
+            image = new Image(imageStream);
+        } catch (IOException e) {
+            System.err.println("Exception loading atlas " + base + ": " + e.getMessage());
+            return NO_ATLAS;
+        }
+        if (image.isError()) {
+            return NO_ATLAS;
+        }
+
+        Rectangle2D[] viewports = new Rectangle2D[MAX_CARD_NUMBER + 1];
+        for (String key : index.stringPropertyNames()) {
+            try {
+                int cardNumber = Integer.parseInt(key.trim());
+                String[] rect = index.getProperty(key).split(",");
+                if (cardNumber >= 1 && cardNumber <= MAX_CARD_NUMBER && rect.length == 4) {
+                    viewports[cardNumber] = new Rectangle2D(
+                            Double.parseDouble(rect[0].trim()), Double.parseDouble(rect[1].trim()),
+                            Double.parseDouble(rect[2].trim()), Double.parseDouble(rect[3].trim()));
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring malformed atlas entry " + key + " in " + base);
+            }
+        }
+        return new Atlas(image, viewports);
+    }
+
+    /**
+     * Loads a card's image file and decodes it at the requested display size.
+     */
+    private Image decode(int cardNumber, CardSize size) {
+        String path = MEDIA_PATH + cardNumber + ".png";
+        try (InputStream stream = openResource(path)) {
+            if (stream == null) {
+                System.err.println("Failed to load image: " + path);
+                return null;
+            }
+            Image image = new Image(stream, size.getWidth(), size.getHeight(), true, true);
+            return image.isError() ? null : image;
+        } catch (IOException e) {
+            System.err.println("Exception loading image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private InputStream openResource(String path) {
+        // Module-relative lookup first, then the class loader for classpath launches
+        InputStream stream = CardImageCache.class.getResourceAsStream("/" + path);
+        if (stream == null) {
+            stream = CardImageCache.class.getClassLoader().getResourceAsStream(path);
+        }
+        return stream;
+    }
+
+    /**
+     * A decoded sprite atlas and the viewport of each card in it.
+     */
+    private static final class Atlas {
+
+        private final Image image;
+        private final Rectangle2D[] viewports;
+
+        Atlas(Image image, Rectangle2D[] viewports) {
+            this.image = image;
+            this.viewports = viewports;
+        }
+    }
+}
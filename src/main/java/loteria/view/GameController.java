@@ -0,0 +1,218 @@
+package loteria.view;
+
+import javafx.application.Platform;
+import loteria.model.ClaimResult;
+import loteria.model.GameSnapshot;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaGame;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import loteria.model.WinningPattern;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Runs a {@link LoteriaGame} on its own thread so the JavaFX application thread only renders.
+ * Every command is queued to a single game thread, which owns the game and its boards. After
+ * each command the controller takes a {@link GameSnapshot} and publishes it to the UI with
+ * {@link Platform#runLater}; snapshots are coalesced, so if the UI falls behind it skips
+ * straight to the newest one instead of replaying every call.
+ *
+ * <p>Command results are delivered as futures completed on the game thread. Use
+ * {@link #onFxThread(CompletableFuture)} to continue on the application thread.
+ */
+public class GameController implements AutoCloseable {
+
+    private final LoteriaGame game;
+    private final ExecutorService gameThread;
+    private final Executor uiExecutor;
+    private final Consumer<GameSnapshot> listener;
+    private final AtomicReference<GameSnapshot> pending;
+    /** The joined players, republished by the game thread after every join. */
+    private volatile List<Player> players;
+    /** Set by the game thread once the game has started and its card index is built. */
+    private volatile boolean started;
+
+    /**
+     * Constructs a controller that publishes snapshots to the JavaFX application thread.
+     *
+     * @param game     The game to drive. It must not be touched by other threads afterwards.
+     * @param listener Receives the newest snapshot on the application thread.
+     */
+    public GameController(LoteriaGame game, Consumer<GameSnapshot> listener) {
+        this(game, listener, Platform::runLater);
+    }
+
+    /**
+     * Constructs a controller that publishes snapshots through the given executor.
+     *
+     * @param game       The game to drive. It must not be touched by other threads afterwards.
+     * @param listener   Receives the newest snapshot.
+     * @param uiExecutor The executor snapshots are delivered on.
+     */
+    public GameController(LoteriaGame game, Consumer<GameSnapshot> listener, Executor uiExecutor) {
+        this.game = game;
+        this.listener = listener;
+        this.uiExecutor = uiExecutor;
+        this.pending = new AtomicReference<>();
+        this.players = List.of();
+        this.gameThread = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "loteria-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return The game driven by this controller. Read-only use outside the game thread.
+     */
+    public LoteriaGame getGame() {
+        return game;
+    }
+
+    /**
+     * Adds a player to the game.
+     *
+     * @param player The player to add, with their boards attached.
+     * @return A future completed when the player has joined.
+     */
+    public CompletableFuture<Player> addPlayer(Player player) {
+        return submit(() -> {
+            game.addPlayer(player);
+            players = List.copyOf(game.getPlayers());
+            return player;
+        });
+    }
+
+    /**
+     * Starts the game, generating every board on the game thread.
+     *
+     * @return A future completed when the game is in progress.
+     */
+    public CompletableFuture<GameSnapshot> startGame() {
+        return submit(() -> {
+            game.startGame();
+            started = true;
+            return game.snapshot();
+        });
+    }
+
+    /**
+     * @return The players who have joined, as of the last completed {@link #addPlayer}. Safe to
+     *         call on any thread; their boards are dealt once {@link #startGame()} has completed.
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Visits every board holding a card, with the cell the card occupies. The game builds its
+     * card index on the game thread at start and never changes it afterwards, so once
+     * {@link #startGame()} has completed this is safe on any thread; before that it visits nothing.
+     *
+     * @param card    The card to look up.
+     * @param visitor Receives each board holding the card and the card's row-major cell index.
+     */
+    public void forEachBoardHolding(LoteriaCard card, ObjIntConsumer<PlayerBoard> visitor) {
+        if (started) {
+            game.forEachBoardHolding(card, visitor);
+        }
+    }
+
+    /**
+     * Calls the next card. The new state reaches the listener as a snapshot.
+     *
+     * @return A future completed with the called card, or exceptionally if none could be called.
+     */
+    public CompletableFuture<LoteriaCard> callNextCard() {
+        return submit(game::callNextCard);
+    }
+
+    /**
+     * Claims a win for the player with the first of the given patterns that any of their
+     * boards completes. The board × pattern search runs on the game thread.
+     *
+     * @param player   The claiming player.
+     * @param patterns The patterns to try, in order.
+     * @return A future completed with the accepted claim, or the last refusal if none was accepted.
+     */
+    public CompletableFuture<ClaimResult> claimAnyPattern(Player player, List<WinningPattern> patterns) {
+        return submit(() -> {
+            ClaimResult result = null;
+            for (WinningPattern pattern : patterns) {
+                result = game.claimWin(player, pattern);
+                if (result.getStatus() != ClaimResult.Status.REJECTED || game.isGameOver()) {
+                    break; // Accepted, or the game is over and no other pattern can help
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Returns the index of a board within its owner's boards, for display.
+     *
+     * @param board The board.
+     * @return Its 0-based index, or -1 if the board is not held by its owner.
+     */
+    public static int boardNumber(PlayerBoard board) {
+        return board.getOwner().getBoards().indexOf(board);
+    }
+
+    /**
+     * Adapts a controller future so that its continuations run on the JavaFX application thread.
+     *
+     * @param future The future returned by a command.
+     * @param <T>    The result type.
+     * @return A future completed on the application thread.
+     */
+    public static <T> CompletableFuture<T> onFxThread(CompletableFuture<T> future) {
+        return future.whenCompleteAsync((result, error) -> { }, Platform::runLater);
+    }
+
+    /**
+     * Stops the game thread. Queued commands are discarded.
+     */
+    @Override
+    public void close() {
+        gameThread.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        gameThread.execute(() -> {
+            try {
+                future.complete(command.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            publish();
+        });
+        return future;
+    }
+
+    /**
+     * Replaces the pending snapshot with the current state and schedules a delivery only if
+     * none is already queued, so at most one runLater is outstanding at a time.
+     */
+    private void publish() {
+        if (pending.getAndSet(game.snapshot()) == null) {
+            uiExecutor.execute(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        GameSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot != null) {
+            listener.accept(snapshot);
+        }
+    }
+}
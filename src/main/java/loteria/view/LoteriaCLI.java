@@ -1,15 +1,33 @@
 package loteria.view;
 
 import loteria.model.*;
-
+import loteria.simulation.BatchSimulator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implements a command-line interface (CLI) for the Lotería game.
  * Handles user input, interacts with the game model, and displays output to the console.
+ *
+ * <p>Started with {@code --simulate}, it runs non-interactively instead: whole games are played
+ * by a {@link BatchSimulator} and one CSV or JSON line per game is streamed to stdout or a file.
+ * <pre>
+ * --simulate [--games N] [--players P] [--boards B] [--size S] [--threads T] [--seed S]
+ *            [--format csv|json] [--output FILE]
+ * </pre>
  */
 public class LoteriaCLI {
 
@@ -30,10 +48,102 @@ public class LoteriaCLI {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            System.exit(runBatch(args));
+        }
         LoteriaCLI cli = new LoteriaCLI();
         cli.run();
     }
 
+    /**
+     * Runs the batch simulation mode on the process's standard streams.
+     *
+     * @param args The command-line arguments, starting with {@code --simulate}.
+     * @return The process exit code: 0 on success, 2 on bad arguments, 1 if writing or a game fails.
+     */
+    static int runBatch(String[] args) {
+        return runBatch(args, System.out, System.err);
+    }
+
+    /**
+     * Runs the batch simulation mode. Lines go to {@code stdout} unless {@code --output} names a
+     * file; {@code stdout} is flushed but never closed, since it belongs to the caller.
+     *
+     * @param args   The command-line arguments, starting with {@code --simulate}.
+     * @param stdout Where the lines go without {@code --output}.
+     * @param stderr Where errors, usage and the summary go.
+     * @return The process exit code: 0 on success, 2 on bad arguments, 1 if writing or a game fails.
+     */
+    static int runBatch(String[] args, PrintStream stdout, PrintStream stderr) {
+        long games = 1_000;
+        int players = MAX_PLAYERS;
+        int boards = 1;
+        int size = BOARD_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = ThreadLocalRandom.current().nextLong();
+        BatchSimulator.Format format = BatchSimulator.Format.CSV;
+        Path output = null;
+        BatchSimulator simulator;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--games" -> games = Long.parseLong(value);
+                    case "--players" -> players = Integer.parseInt(value);
+                    case "--boards" -> boards = Integer.parseInt(value);
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--format" -> format = BatchSimulator.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--output" -> output = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + option + ".");
+                }
+            }
+            if (games <= 0 || threads <= 0) {
+                throw new IllegalArgumentException("Games and threads must be positive.");
+            }
+            simulator = new BatchSimulator(players, boards, size);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and unknown formats land here too
+            stderr.println("Error: " + e.getMessage());
+            stderr.println("Usage: --simulate [--games N] [--players P] [--boards B] [--size S] [--threads T]"
+                    + " [--seed S] [--format csv|json] [--output FILE]");
+            return 2;
+        }
+
+        long start = System.nanoTime();
+        GameStatistics statistics;
+        try {
+            if (output == null) {
+                Writer out = new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8));
+                statistics = simulator.run(games, threads, seed, format, out);
+                // A PrintStream swallows write errors, so ask it whether any occurred
+                if (stdout.checkError()) {
+                    throw new IOException("standard output is not writable.");
+                }
+            } else {
+                try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                    statistics = simulator.run(games, threads, seed, format, out);
+                }
+            }
+        } catch (IOException e) {
+            stderr.println("Error: could not write results: " + e.getMessage());
+            return 1;
+        } catch (IllegalStateException e) {
+            stderr.println("Error: " + e.getMessage());
+            return 1;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stderr.printf("Simulated %d games (%d players x %d boards, %dx%d) on %d threads with seed %d in %.2f s"
+                        + " (%.0f games/s), %.1f cards per game.%n",
+                games, players, boards, size, size, threads, seed, seconds, games / seconds, statistics.getMeanGameLength());
+        return 0;
+    }
+
     /**
      * Main application loop.
      */
@@ -123,18 +233,12 @@ public class LoteriaCLI {
     }
 
     /**
-     * Call the next card and automatically mark it on all players' boards.
+     * Call the next card; the game marks it on every board that holds it.
      */
     private void handleCall() throws LoteriaException {
         LoteriaCard card = game.callNextCard();
         System.out.println("Card called: " + card.getSpanishName());
         System.out.println("   \"" + card.getRiddle() + "\"");
-
-        for (Player player : game.getPlayers()) {
-            for (PlayerBoard board : player.getBoards()) {
-                board.markCard(card);
-            }
-        }
     }
 
     /**
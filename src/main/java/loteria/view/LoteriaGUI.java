@@ -5,7 +5,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
@@ -13,10 +12,10 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import loteria.model.*;
 
-import java.io.InputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 /**
  * A complete Lotería game GUI built programmatically with JavaFX.
@@ -26,8 +25,14 @@ public class LoteriaGUI extends Application {
 
     private static final int MAX_PLAYERS = 4;
     private static final int BOARD_SIZE = 4;
+    private static final List<WinningPattern> PATTERNS = StandardPatterns.getAllStandardPatterns(BOARD_SIZE);
+
+    private final CardImageCache imageCache = new CardImageCache();
 
     private LoteriaGame game;
+    private GameController controller;
+    private int renderedCalls; // Calls already shown; snapshots may skip ahead several at once
+    private long renderedCardMask; // Called cards of the snapshot shown; every mark is drawn from it
     private Player currentPlayer; // Tracks the player whose board is currently displayed
 
     // --- UI Components ---
@@ -41,13 +46,16 @@ public class LoteriaGUI extends Application {
     private Button loteriaButton;
     private ImageView callerCardImageView;
     private Label callerCardNameLabel;
-    private GridPane playerBoardGrid;
+    private BoardView boardView;
+    private BoardDashboard dashboard;
+    private Stage monitorStage;
     private Label statusLabel;
     private int currentBoardIndex = 0;
 
     @Override
     public void start(Stage primaryStage) {
-        game = new LoteriaGame(MAX_PLAYERS);
+        newController();
+        imageCache.preloadAsync();
 
         BorderPane root = new BorderPane();
         root.setPadding(new Insets(10));
@@ -69,11 +77,8 @@ public class LoteriaGUI extends Application {
         root.setLeft(leftPanel);
 
         // --- Center Panel: Player's Board ---
-        playerBoardGrid = new GridPane();
-        playerBoardGrid.setAlignment(Pos.CENTER);
-        playerBoardGrid.setHgap(10);
-        playerBoardGrid.setVgap(10);
-        root.setCenter(playerBoardGrid);
+        boardView = new BoardView(imageCache);
+        root.setCenter(boardView);
 
         // --- Right Panel: Controls ---
         // 1. Setup Panel
@@ -105,8 +110,10 @@ public class LoteriaGUI extends Application {
         loteriaButton.setPrefSize(150, 50);
         Button newGameButton = new Button("New Game");
         newGameButton.setPrefWidth(150);
+        Button monitorButton = new Button("Monitor");
+        monitorButton.setPrefWidth(150);
         gamePanel = new VBox(10, boardViewLabel, playerSelectorComboBox, boardNumberLabel, boardSelectorComboBox, 
-                            new Separator(), callCardButton, loteriaButton, newGameButton);
+                            new Separator(), callCardButton, loteriaButton, newGameButton, monitorButton);
         gamePanel.setAlignment(Pos.TOP_CENTER);
         gamePanel.setSpacing(15);
         gamePanel.setVisible(false);
@@ -127,6 +134,7 @@ public class LoteriaGUI extends Application {
         callCardButton.setOnAction(event -> handleCallCard());
         loteriaButton.setOnAction(event -> handleLoteriaButton());
         newGameButton.setOnAction(event -> handleNewGame());
+        monitorButton.setOnAction(event -> handleShowMonitor());
         playerSelectorComboBox.setOnAction(event -> handlePlayerSelection());
         boardSelectorComboBox.setOnAction(event -> handleBoardSelection());
 
@@ -135,6 +143,7 @@ public class LoteriaGUI extends Application {
         primaryStage.setTitle("¡Lotería!");
         primaryStage.setScene(scene);
         primaryStage.setResizable(false);
+        primaryStage.setOnHidden(event -> controller.close());
         
         // Initialize the board display with waiting message
         drawPlayerBoard();
@@ -148,90 +157,130 @@ public class LoteriaGUI extends Application {
             statusLabel.setText("Player name cannot be empty.");
             return;
         }
-        try {
-            Player newPlayer = new Player(name);
-            
-            // Ask how many boards the player wants
-            TextInputDialog boardDialog = new TextInputDialog("1");
-            boardDialog.setTitle("Number of Boards");
-            boardDialog.setHeaderText("How many tablas for " + name + "?");
-            boardDialog.setContentText("Enter number of boards (1-4):");
-            
-            Optional<String> result = boardDialog.showAndWait();
-            int numBoards = 1; // Default to 1 board
-            
-            if (result.isPresent()) {
-                try {
-                    numBoards = Integer.parseInt(result.get());
-                    if (numBoards < 1 || numBoards > 4) {
-                        numBoards = 1; // Default to 1 if invalid input
-                        statusLabel.setText("Invalid number of boards. Using 1 board for " + name + ".");
-                    }
-                } catch (NumberFormatException e) {
-                    numBoards = 1;
-                    statusLabel.setText("Invalid input. Using 1 board for " + name + ".");
+        Player newPlayer = new Player(name);
+        
+        // Ask how many boards the player wants
+        TextInputDialog boardDialog = new TextInputDialog("1");
+        boardDialog.setTitle("Number of Boards");
+        boardDialog.setHeaderText("How many tablas for " + name + "?");
+        boardDialog.setContentText("Enter number of boards (1-4):");
+        
+        Optional<String> result = boardDialog.showAndWait();
+        int numBoards = 1; // Default to 1 board
+        
+        if (result.isPresent()) {
+            try {
+                numBoards = Integer.parseInt(result.get());
+                if (numBoards < 1 || numBoards > 4) {
+                    numBoards = 1; // Default to 1 if invalid input
+                    statusLabel.setText("Invalid number of boards. Using 1 board for " + name + ".");
                 }
+            } catch (NumberFormatException e) {
+                numBoards = 1;
+                statusLabel.setText("Invalid input. Using 1 board for " + name + ".");
             }
-            
-            // Create the specified number of boards
-            for (int i = 0; i < numBoards; i++) {
-                newPlayer.addBoard(new PlayerBoard(BOARD_SIZE, newPlayer));
+        }
+        
+        // Create the specified number of boards
+        for (int i = 0; i < numBoards; i++) {
+            newPlayer.addBoard(new PlayerBoard(BOARD_SIZE, newPlayer));
+        }
+        
+        int boardCount = numBoards;
+        GameController.onFxThread(controller.addPlayer(newPlayer)).whenComplete((player, error) -> {
+            if (error != null) {
+                statusLabel.setText("Error: " + messageOf(error));
+            } else {
+                showJoinedPlayer(newPlayer, boardCount);
             }
-            
-            game.addPlayer(newPlayer);
+        });
+        nameField.clear();
+    }
 
-            playerListView.getItems().add(name + " (" + numBoards + " board" + (numBoards > 1 ? "s" : "") + ")");
-            playerSelectorComboBox.getItems().add(newPlayer);
-            nameField.clear();
-            statusLabel.setText(name + " has joined with " + numBoards + " board(s).");
-            startGameButton.setDisable(false);
-            
-            // Only set current player if game hasn't started yet
-            if (currentPlayer == null && game.getGameState() == GameState.WAITING_FOR_PLAYERS) {
-                currentPlayer = newPlayer;
-                playerSelectorComboBox.setValue(currentPlayer);
-                // Don't draw board yet - wait until game starts
-            }
-        } catch (LoteriaException e) {
-            statusLabel.setText("Error: " + e.getMessage());
+    private void showJoinedPlayer(Player newPlayer, int numBoards) {
+        String name = newPlayer.getName();
+        playerListView.getItems().add(name + " (" + numBoards + " board" + (numBoards > 1 ? "s" : "") + ")");
+        playerSelectorComboBox.getItems().add(newPlayer);
+        statusLabel.setText(name + " has joined with " + numBoards + " board(s).");
+        startGameButton.setDisable(false);
+        
+        // Only set current player if game hasn't started yet
+        if (currentPlayer == null && game.getGameState() == GameState.WAITING_FOR_PLAYERS) {
+            currentPlayer = newPlayer;
+            playerSelectorComboBox.setValue(currentPlayer);
+            // Don't draw board yet - wait until game starts
         }
     }
 
     private void handleStartGame() {
-        try {
-            // The model now handles all board generation internally
-            game.startGame();
-
+        startGameButton.setDisable(true);
+        statusLabel.setText("Dealing boards...");
+        // Board generation runs on the game thread; the UI switches over once it is done
+        GameController.onFxThread(controller.startGame()).whenComplete((snapshot, error) -> {
+            if (error != null) {
+                statusLabel.setText("Error: " + messageOf(error));
+                startGameButton.setDisable(false);
+                return;
+            }
             setupPanel.setVisible(false);
             gamePanel.setVisible(true);
             statusLabel.setText("Game started! Click 'Call Next Card' to begin.");
             drawPlayerBoard();
-        } catch (LoteriaException e) {
-            statusLabel.setText("Error: " + e.getMessage());
-            e.printStackTrace(); // For debugging
-        }
+            if (dashboard != null) {
+                dashboard.bind(controller.getPlayers(), 1000, renderedCardMask);
+            }
+        });
     }
 
     private void handleCallCard() {
-        try {
-            LoteriaCard card = game.callNextCard();
-            
-            Image cardImage = loadImage(card.getCardNumber() + ".png");
-            if (cardImage != null) {
-                callerCardImageView.setImage(cardImage);
-            } else {
-                // Clear the image and rely on text
-                callerCardImageView.setImage(null);
+        GameController.onFxThread(controller.callNextCard()).whenComplete((card, error) -> {
+            if (error == null) {
+                return;
             }
-            
-            callerCardNameLabel.setText("#" + card.getCardNumber() + ": " + card.getSpanishName() + 
-                                      (cardImage == null ? "\n(" + card.getName() + ")" : ""));
-            statusLabel.setText("Called: " + card.getName());
-            updateBoardHighlights();
-        } catch (LoteriaException e) {
-            statusLabel.setText("The deck is empty! Game over.");
-            callCardButton.setDisable(true);
+            switch (game.getGameState()) {
+                case PAUSED -> statusLabel.setText("The game is paused. Resume it to call more cards.");
+                case FINISHED, CANCELLED -> {
+                    statusLabel.setText("The game is over. Start a new game to keep playing.");
+                    callCardButton.setDisable(true);
+                }
+                case IN_PROGRESS -> {
+                    if (game.remainingCards() == 0) {
+                        statusLabel.setText("The deck is empty! Game over.");
+                        callCardButton.setDisable(true);
+                    } else {
+                        statusLabel.setText("Error: " + messageOf(error));
+                    }
+                }
+                default -> statusLabel.setText("The game has not started yet.");
+            }
+        });
+    }
+
+    /**
+     * Renders the newest game snapshot. Runs on the application thread; several calls may
+     * have been made since the previous snapshot when the UI is busy.
+     */
+    private void handleSnapshot(GameSnapshot snapshot) {
+        LoteriaCard card = snapshot.getCurrentCard();
+        if (card == null || snapshot.getCallNumber() <= renderedCalls) {
+            return;
         }
+
+        // Clears the image when there is no artwork, leaving the text
+        boolean hasImage = imageCache.show(callerCardImageView, card.getCardNumber(), CardImageCache.CardSize.CALLER);
+
+        callerCardNameLabel.setText("#" + card.getCardNumber() + ": " + card.getSpanishName() + 
+                                  (!hasImage ? "\n(" + card.getName() + ")" : ""));
+        statusLabel.setText("Called: " + card.getName());
+        renderedCardMask = snapshot.getCalledCardMask();
+        updateBoardHighlights();
+        if (dashboard != null) {
+            List<LoteriaCard> calledCards = snapshot.getCalledCards();
+            for (int i = renderedCalls; i < calledCards.size(); i++) {
+                dashboard.cardCalled(controller, calledCards.get(i), renderedCardMask);
+            }
+        }
+        renderedCalls = snapshot.getCallNumber();
     }
 
     private void handleLoteriaButton() {
@@ -241,58 +290,69 @@ public class LoteriaGUI extends Application {
             return;
         }
 
-        // Create all possible patterns for the board size
-        List<WinningPattern> patterns = StandardPatterns.getAllStandardPatterns(BOARD_SIZE);
-        
-        // Check if the player has ANY valid winning pattern on ANY of their boards
-        WinningPattern winningPattern = null;
-        int winningBoardIndex = -1;
-        
-        for (int boardIndex = 0; boardIndex < claimingPlayer.getBoards().size(); boardIndex++) {
-            PlayerBoard board = claimingPlayer.getBoards().get(boardIndex);
-            for (WinningPattern pattern : patterns) {
-                if (board.checkPattern(pattern, game.getCalledCards())) {
-                    winningPattern = pattern;
-                    winningBoardIndex = boardIndex;
-                    break;
-                }
+        loteriaButton.setDisable(true);
+        // The board × pattern search runs on the game thread
+        GameController.onFxThread(controller.claimAnyPattern(claimingPlayer, PATTERNS)).whenComplete((claim, error) -> {
+            if (error != null || claim == null || !claim.isAccepted()) {
+                loteriaButton.setDisable(game.isGameOver());
+                statusLabel.setText(claimingPlayer.getName() + "'s claim was invalid. The game continues.");
+                return;
             }
-            if (winningPattern != null) break; // Found a win, stop searching
-        }
+            showWinner(claim);
+        });
+    }
+
+    private void showWinner(ClaimResult claim) {
+        Player claimingPlayer = claim.getPlayer();
+        WinningPattern winningPattern = claim.getPattern();
+        int winningBoardIndex = GameController.boardNumber(claim.getBoard());
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("¡Lotería!");
+        alert.setHeaderText("WINNER!");
+        alert.setContentText(claimingPlayer.getName() + " has won with the pattern: " + winningPattern.getName() + 
+                           "\nWinning Board: #" + (winningBoardIndex + 1));
+        alert.showAndWait();
+        callCardButton.setDisable(true);
+        loteriaButton.setDisable(true);
+        statusLabel.setText("¡" + claimingPlayer.getName() + " WINS with " + winningPattern.getName() + 
+                          " on Board #" + (winningBoardIndex + 1) + "!");
         
-        if (winningPattern != null) {
-            // Now officially validate the win (this will change game state)
-            game.validateWin(claimingPlayer, winningPattern);
-            
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("¡Lotería!");
-            alert.setHeaderText("WINNER!");
-            alert.setContentText(claimingPlayer.getName() + " has won with the pattern: " + winningPattern.getName() + 
-                               "\nWinning Board: #" + (winningBoardIndex + 1));
-            alert.showAndWait();
-            callCardButton.setDisable(true);
-            loteriaButton.setDisable(true);
-            statusLabel.setText("¡" + claimingPlayer.getName() + " WINS with " + winningPattern.getName() + 
-                              " on Board #" + (winningBoardIndex + 1) + "!");
-            
-            // Switch to show the winning board
-            currentBoardIndex = winningBoardIndex;
-            boardSelectorComboBox.setValue(winningBoardIndex + 1);
-            drawPlayerBoard();
-            updateBoardHighlights();
-        } else {
-            statusLabel.setText(claimingPlayer.getName() + "'s claim was invalid. The game continues.");
+        // Switch to show the winning board
+        currentBoardIndex = winningBoardIndex;
+        boardSelectorComboBox.setValue(winningBoardIndex + 1);
+        drawPlayerBoard();
+        updateBoardHighlights();
+    }
+
+    /**
+     * Opens (or brings forward) the monitor window showing every board in play.
+     */
+    private void handleShowMonitor() {
+        if (monitorStage == null) {
+            dashboard = new BoardDashboard();
+            monitorStage = new Stage();
+            monitorStage.setTitle("¡Lotería! - Monitor");
+            monitorStage.setScene(new Scene(dashboard, 1000, 700));
+            monitorStage.setOnHidden(event -> dashboard.stop());
+            monitorStage.setOnShown(event -> dashboard.start());
         }
+        dashboard.bind(controller.getPlayers(), 1000, renderedCardMask);
+        monitorStage.show();
+        monitorStage.toFront();
     }
 
     private void handleNewGame() {
-        game = new LoteriaGame(MAX_PLAYERS);
+        if (monitorStage != null) {
+            monitorStage.hide();
+        }
+        controller.close();
+        newController();
         currentPlayer = null;
         currentBoardIndex = 0;
         playerListView.getItems().clear();
         playerSelectorComboBox.getItems().clear();
         boardSelectorComboBox.getItems().clear();
-        playerBoardGrid.getChildren().clear();
+        boardView.clear();
         callerCardImageView.setImage(null);
         callerCardNameLabel.setText("Waiting to start...");
         statusLabel.setText("Welcome! Add players to begin.");
@@ -337,14 +397,9 @@ public class LoteriaGUI extends Application {
     }
 
     private void drawPlayerBoard() {
-        playerBoardGrid.getChildren().clear();
-        
         // Don't draw board if game hasn't started yet
         if (game.getGameState() == GameState.WAITING_FOR_PLAYERS) {
-            Label waitingLabel = new Label("Waiting for game to start...");
-            waitingLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
-            StackPane placeholder = new StackPane(waitingLabel);
-            playerBoardGrid.add(placeholder, 0, 0, 4, 4); // Span all columns and rows
+            boardView.showMessage("Waiting for game to start...");
             return;
         }
         
@@ -364,126 +419,33 @@ public class LoteriaGUI extends Application {
             currentBoardIndex = 0; // Fallback to first board
         }
         
-        PlayerBoard board = boards.get(currentBoardIndex);
-
-        for (int row = 0; row < board.getSize(); row++) {
-            for (int col = 0; col < board.getSize(); col++) {
-                LoteriaCard card = board.getCard(row, col);
-                if (card == null) {
-                    System.err.println("Error: Card at (" + row + "," + col + ") is null. Board may not be generated.");
-                    // Create a placeholder for null cards
-                    Label placeholder = new Label("NULL");
-                    placeholder.setStyle("-fx-background-color: red; -fx-text-fill: white;");
-                    StackPane cellPane = new StackPane(placeholder);
-                    cellPane.setPrefSize(70, 100);
-                    playerBoardGrid.add(cellPane, col, row);
-                    continue;
-                }
-                
-                Image cardImage = loadImage(card.getCardNumber() + ".png");
-                StackPane cellPane;
-                
-                if (cardImage != null) {
-                    // Use the actual card image
-                    ImageView cardView = new ImageView(cardImage);
-                    cardView.setFitHeight(100);
-                    cardView.setFitWidth(70);
-                    cardView.setPreserveRatio(true);
-                    
-                    // Create an X mark overlay (initially hidden)
-                    Label xMark = new Label("X");
-                    xMark.setStyle("-fx-text-fill: red; -fx-font-size: 48px; -fx-font-weight: bold; " +
-                                  "-fx-background-color: rgba(255,255,255,0.8); -fx-padding: 5px; " +
-                                  "-fx-border-color: red; -fx-border-width: 2px;");
-                    xMark.setVisible(false); // Initially hidden
-                    
-                    cellPane = new StackPane(cardView, xMark);
-                } else {
-                    // Use text as fallback
-                    Label cardLabel = new Label("#" + card.getCardNumber() + "\n" + card.getSpanishName());
-                    cardLabel.setStyle("-fx-background-color: white; -fx-border-color: black; -fx-border-width: 1px; " +
-                                     "-fx-text-alignment: center; -fx-font-size: 10px; -fx-padding: 5px;");
-                    cardLabel.setPrefSize(70, 100);
-                    
-                    // Create an X mark overlay for text cards too
-                    Label xMark = new Label("X");
-                    xMark.setStyle("-fx-text-fill: red; -fx-font-size: 24px; -fx-font-weight: bold;");
-                    xMark.setVisible(false); // Initially hidden
-                    
-                    cellPane = new StackPane(cardLabel, xMark);
-                }
-                
-                cellPane.setUserData(card);
-                playerBoardGrid.add(cellPane, col, row);
-            }
-        }
+        boardView.bind(boards.get(currentBoardIndex), renderedCardMask);
     }
 
     private void updateBoardHighlights() {
-        if (game.getGameState() != GameState.IN_PROGRESS) return;
-        List<LoteriaCard> calledCards = game.getCalledCards();
-        
-        playerBoardGrid.getChildren().forEach(node -> {
-            if (node instanceof StackPane) {
-                StackPane stackPane = (StackPane) node;
-                LoteriaCard card = (LoteriaCard) stackPane.getUserData();
-                
-                if (card != null && calledCards.contains(card)) {
-                    // Show the X mark if this card has been called
-                    stackPane.getChildren().forEach(child -> {
-                        if (child instanceof Label && ((Label) child).getText().equals("X")) {
-                            child.setVisible(true);
-                        }
-                    });
-                } else {
-                    // Hide the X mark if this card hasn't been called
-                    stackPane.getChildren().forEach(child -> {
-                        if (child instanceof Label && ((Label) child).getText().equals("X")) {
-                            child.setVisible(false);
-                        }
-                    });
-                }
-            }
-        });
+        // Only the cells whose marks changed since the last refresh are touched
+        boardView.refreshMarks(renderedCardMask);
     }
 
-    private Image loadImage(String fileName) {
-        String fullPath = "data/media/" + fileName;
-        
-        try {
-            // Try method 1: Using getResourceAsStream from class loader
-            InputStream imageStream = getClass().getClassLoader().getResourceAsStream(fullPath);
-            if (imageStream != null) {
-                return new Image(imageStream);
-            }
-            
-            // Try method 2: Using getResourceAsStream from class
-            imageStream = getClass().getResourceAsStream("/" + fullPath);
-            if (imageStream != null) {
-                return new Image(imageStream);
-            }
-            
-            // Try method 3: Direct path without leading slash
-            imageStream = getClass().getResourceAsStream(fullPath);
-            if (imageStream != null) {
-                return new Image(imageStream);
+    /**
+     * Replaces the game and its controller. Snapshots from a previous controller are ignored.
+     */
+    private void newController() {
+        game = new LoteriaGame(MAX_PLAYERS);
+        renderedCalls = 0;
+        renderedCardMask = 0L;
+        GameController[] created = new GameController[1];
+        created[0] = new GameController(game, snapshot -> {
+            if (controller == created[0]) {
+                handleSnapshot(snapshot);
             }
-            
-            System.err.println("Failed to load image: " + fullPath + ". Tried multiple resource loading methods.");
-            
-        } catch (Exception e) {
-            System.err.println("Exception loading image " + fullPath + ": " + e.getMessage());
-        }
-        
-        // Return a placeholder image if loading fails
-        return createPlaceholderImage(fileName);
+        });
+        controller = created[0];
     }
-    
-    private Image createPlaceholderImage(String fileName) {
-        // Create a simple colored rectangle as placeholder
-        // We can't easily create images programmatically in JavaFX without additional setup,
-        // so we'll return null and handle it in the UI
-        return null;
+
+    private static String messageOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage();
     }
 
     public static void main(String[] args) {
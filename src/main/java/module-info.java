@@ -6,6 +6,15 @@ module loteria {
     // Make your model package available to other modules
     exports loteria.model;
 
+    // Headless Monte Carlo engine for pattern win probabilities
+    exports loteria.simulation;
+
+    // Multi-room game hosting
+    exports loteria.server;
+
+    // Event journal and crash recovery
+    exports loteria.journal;
+
     // FIX: Export your view package so JavaFX can launch it
     exports loteria.view;
 
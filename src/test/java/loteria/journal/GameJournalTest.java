@@ -0,0 +1,142 @@
+package loteria.journal;
+
+import loteria.model.GameListener;
+import loteria.model.GameState;
+import loteria.model.LoteriaCard;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import loteria.model.PatternCompletion;
+import loteria.model.Player;
+import loteria.model.PlayerBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameJournalTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * A claim validated against a card that is published but not yet journaled is recorded
+     * ahead of that card's CARD record, and must still replay.
+     */
+    @Test
+    void replaysClaimRecordedBeforeItsCard() throws Exception {
+        LoteriaGame game = newGame(42L);
+        Path file = dir.resolve("claim.journal");
+        // No sync falls due on its own, so the file holds exactly what was explicitly synced
+        try (GameJournal journal = GameJournal.create(file, GameJournal.DEFAULT_SYNC_EVERY, 60_000, GameJournal.DEFAULT_SNAPSHOT_EVERY)) {
+            // Registered before the journal, so its claim is journaled ahead of the card it depends on
+            game.addListener(new GameListener() {
+                @Override
+                public void onCardCalled(LoteriaGame g, LoteriaCard card, int callNumber) {
+                    List<PatternCompletion> completions = g.getLastCompletions();
+                    if (!completions.isEmpty() && !g.isGameOver()) {
+                        PatternCompletion first = completions.get(0);
+                        g.claimWin(first.getPlayer(), first.getPattern());
+                        try {
+                            journal.sync();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }
+            });
+            journal.attach(game);
+            game.startGame();
+            while (!game.isGameOver()) {
+                game.callNextCardId();
+            }
+
+            // The claim is durable, but the winning card is still buffered
+            assertReplaysAs(game, GameJournal.replay(file));
+        }
+        assertReplaysAs(game, GameJournal.replay(file));
+    }
+
+    /**
+     * A failed write must not reach the game's callers; it is reported by sync and close.
+     */
+    @Test
+    void reportsWriteFailuresFromSyncAndClose() throws Exception {
+        LoteriaGame game = newGame(3L);
+        Path gone = Files.createDirectory(dir.resolve("gone"));
+        Path file = gone.resolve("failing.journal");
+        // Compacting after two events needs a temporary file next to the journal
+        GameJournal journal = GameJournal.create(file, GameJournal.DEFAULT_SYNC_EVERY, GameJournal.DEFAULT_SYNC_INTERVAL_MILLIS, 2);
+        journal.attach(game);
+        Files.delete(file);
+        Files.delete(gone);
+
+        game.startGame();
+        while (game.getLastCompletions().isEmpty()) {
+            game.callNextCardId();
+        }
+        PatternCompletion first = game.getLastCompletions().get(0);
+        assertTrue(game.claimWin(first.getPlayer(), first.getPattern()).isAccepted());
+
+        assertThrows(IOException.class, journal::sync);
+        assertThrows(IOException.class, journal::close);
+        journal.close(); // Already closed
+    }
+
+    /**
+     * A snapshot taken while paused must not leave the replayed game paused for the calls that
+     * followed the resume.
+     */
+    @Test
+    void replaysCallsAfterResumeFromPausedSnapshot() throws Exception {
+        LoteriaGame game = newGame(7L);
+        Path file = dir.resolve("pause.journal");
+        try (GameJournal journal = GameJournal.create(file)) {
+            journal.attach(game);
+            game.startGame();
+            for (int i = 0; i < 3; i++) {
+                game.callNextCardId();
+            }
+            game.pauseGame();
+            journal.compact();
+            game.resumeGame();
+            for (int i = 0; i < 3; i++) {
+                game.callNextCardId();
+            }
+            game.pauseGame();
+        }
+        LoteriaGame replayed = GameJournal.replay(file);
+        assertReplaysAs(game, replayed);
+        assertEquals(GameState.PAUSED, replayed.getGameState());
+    }
+
+    private static LoteriaGame newGame(long seed) throws LoteriaException {
+        LoteriaGame game = new LoteriaGame(2, seed);
+        game.setAutoDetectWinners(true);
+        for (String name : List.of("Ana", "Beto")) {
+            Player player = new Player(name);
+            player.addBoard(new PlayerBoard(4, player));
+            player.addBoard(new PlayerBoard(4, player));
+            game.addPlayer(player);
+        }
+        return game;
+    }
+
+    private static void assertReplaysAs(LoteriaGame expected, LoteriaGame replayed) {
+        assertEquals(expected.getGameState(), replayed.getGameState());
+        assertEquals(expected.getCallCount(), replayed.getCallCount());
+        assertEquals(expected.getCalledCardMask(), replayed.getCalledCardMask());
+        assertEquals(expected.getWinner() == null ? null : expected.getWinner().getName(),
+                replayed.getWinner() == null ? null : replayed.getWinner().getName());
+        if (expected.getGameState() == GameState.FINISHED) {
+            assertEquals(expected.getWinningPattern().getName(), replayed.getWinningPattern().getName());
+        }
+    }
+}
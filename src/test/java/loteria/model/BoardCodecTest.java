@@ -0,0 +1,74 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoardCodecTest {
+
+    @Test
+    void encodesA4x4BoardIn12Bytes() throws Exception {
+        PlayerBoard board = newBoard(4, 21L);
+        assertEquals(12, BoardCodec.encodedSize(4));
+
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        buffer.position(5);
+        BoardCodec.write(board, buffer);
+        assertEquals(17, buffer.position());
+
+        buffer.position(5);
+        PlayerBoard read = BoardCodec.read(buffer, 4, new Player("Beto"));
+        assertEquals(17, buffer.position());
+        assertSameCards(board, read);
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                assertEquals(board.getCardId(row, col), BoardCodec.cardNumberAt(buffer, 5, 4, row, col));
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEverySize() throws Exception {
+        for (int size = 1; size <= PlayerBoard.MAX_SIZE; size++) {
+            PlayerBoard board = newBoard(size, size);
+            board.markCardId(board.getCardId(0, 0));
+            ByteBuffer buffer = ByteBuffer.allocate(BoardCodec.encodedSize(size));
+            BoardCodec.write(board, buffer);
+            assertEquals(buffer.capacity(), buffer.position());
+
+            // Reading into a used board replaces its cards and drops its markers
+            PlayerBoard reused = newBoard(size, 100 + size);
+            reused.markCardId(reused.getCardId(0, 0));
+            BoardCodec.readInto(buffer.rewind(), reused);
+            assertSameCards(board, reused);
+            assertEquals(0L, reused.getMarkerMask());
+        }
+    }
+
+    @Test
+    void rejectsUnknownCardNumbers() {
+        ByteBuffer buffer = ByteBuffer.allocate(BoardCodec.encodedSize(2));
+        buffer.put(0, (byte) (LoteriaCards.CARD_COUNT + 1));
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.read(buffer, 2, new Player("Ana")));
+    }
+
+    private static PlayerBoard newBoard(int size, long seed) throws LoteriaException {
+        PlayerBoard board = new PlayerBoard(size, new Player("Ana"));
+        board.generateBoard(new Deck(), new Random(seed));
+        return board;
+    }
+
+    private static void assertSameCards(PlayerBoard expected, PlayerBoard actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getCardMask(), actual.getCardMask());
+        for (int row = 0; row < expected.getSize(); row++) {
+            for (int col = 0; col < expected.getSize(); col++) {
+                assertEquals(expected.getCardId(row, col), actual.getCardId(row, col));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardGeneratorTest {
+
+    /** Generated sequentially. */
+    private static final int FEW_BOARDS = 300;
+    /** Generated in parallel: above the 1024-board threshold. */
+    private static final int MANY_BOARDS = 1500;
+
+    @Test
+    void sameSeedGivesSameBoards() throws Exception {
+        for (int count : new int[] {FEW_BOARDS, MANY_BOARDS}) {
+            assertArrayEquals(cellsOf(generate(count, 42L)), cellsOf(generate(count, 42L)), count + " boards");
+        }
+    }
+
+    /**
+     * Chunks draw from generators split in chunk order, so running them in parallel must not
+     * change the boards: the first boards of a large run match a small, sequential run.
+     */
+    @Test
+    void parallelRunMatchesSequentialRun() throws Exception {
+        byte[] sequential = cellsOf(generate(FEW_BOARDS, 7L));
+        byte[] parallel = cellsOf(generate(MANY_BOARDS, 7L));
+        byte[] prefix = new byte[sequential.length];
+        System.arraycopy(parallel, 0, prefix, 0, prefix.length);
+        assertArrayEquals(sequential, prefix);
+    }
+
+    @Test
+    void everyBoardHoldsDistinctCards() throws Exception {
+        for (PlayerBoard board : generate(MANY_BOARDS, 3L)) {
+            int cellCount = board.getSize() * board.getSize();
+            long seen = 0L;
+            for (int row = 0; row < board.getSize(); row++) {
+                for (int col = 0; col < board.getSize(); col++) {
+                    int cardId = board.getCardId(row, col);
+                    assertTrue(LoteriaCards.isCardId(cardId), "card id " + cardId);
+                    assertEquals(0L, seen & (1L << cardId), "card " + cardId + " appears twice");
+                    seen |= 1L << cardId;
+                }
+            }
+            assertEquals(cellCount, Long.bitCount(seen));
+            assertEquals(seen, board.getCardMask());
+        }
+    }
+
+    /**
+     * Generates boards of every size, cycling from 1 to {@link PlayerBoard#MAX_SIZE}.
+     */
+    private static List<PlayerBoard> generate(int count, long seed) throws LoteriaException {
+        Player owner = new Player("Ana");
+        List<PlayerBoard> boards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boards.add(new PlayerBoard(1 + i % PlayerBoard.MAX_SIZE, owner));
+        }
+        BoardGenerator.generateAll(boards, LoteriaCards.getAllCards(), new SplittableRandom(seed));
+        return boards;
+    }
+
+    private static byte[] cellsOf(List<PlayerBoard> boards) {
+        int total = 0;
+        for (PlayerBoard board : boards) {
+            total += board.getSize() * board.getSize();
+        }
+        byte[] cells = new byte[total];
+        int next = 0;
+        for (PlayerBoard board : boards) {
+            for (int row = 0; row < board.getSize(); row++) {
+                for (int col = 0; col < board.getSize(); col++) {
+                    cells[next++] = (byte) board.getCardId(row, col);
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,121 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races simultaneous "¡Lotería!" claims against each other and against further card calls.
+ */
+class ClaimRaceTest {
+
+    private static final int BOARD_SIZE = 4;
+    private static final int PLAYERS = 50;
+    private static final int BOARDS_PER_PLAYER = 4;
+    private static final int ROUNDS = 25;
+    private static final int CLAIMS_PER_THREAD = 500;
+
+    /**
+     * Each round plays a game until several boards complete a pattern at once, then releases a
+     * burst of valid and invalid claims from many threads while cards keep being called.
+     */
+    @Test
+    void acceptsExactlyOneClaimPerRound() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        List<WinningPattern> patterns = StandardPatterns.getAllStandardPatterns(BOARD_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LoteriaGame game = newGame(round);
+                List<Player> contenders = callUntilContested(game);
+
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<Map<ClaimResult.Status, Integer>>> claimers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int offset = t;
+                    claimers.add(executor.submit(() -> {
+                        Map<ClaimResult.Status, Integer> counts = new EnumMap<>(ClaimResult.Status.class);
+                        go.await();
+                        for (int i = 0; i < CLAIMS_PER_THREAD; i++) {
+                            Player player = i % 2 == 0
+                                    ? contenders.get((offset + i) % contenders.size())
+                                    : game.getPlayers().get((offset + i) % game.getPlayers().size());
+                            ClaimResult result = game.claimWin(player, patterns.get(i % patterns.size()));
+                            counts.merge(result.getStatus(), 1, Integer::sum);
+                        }
+                        return counts;
+                    }));
+                }
+                Future<?> caller = executor.submit(() -> {
+                    go.await();
+                    while (!game.isGameOver() && game.remainingCards() > 0) {
+                        try {
+                            game.callNextCardId();
+                        } catch (LoteriaException e) {
+                            break; // The game ended between the check and the call
+                        }
+                    }
+                    return null;
+                });
+
+                go.countDown();
+                Map<ClaimResult.Status, Integer> totals = new EnumMap<>(ClaimResult.Status.class);
+                for (Future<Map<ClaimResult.Status, Integer>> claimer : claimers) {
+                    claimer.get().forEach((status, count) -> totals.merge(status, count, Integer::sum));
+                }
+                caller.get();
+
+                int accepted = totals.getOrDefault(ClaimResult.Status.ACCEPTED, 0);
+                int refused = totals.getOrDefault(ClaimResult.Status.TOO_LATE, 0) + totals.getOrDefault(ClaimResult.Status.REJECTED, 0);
+                assertEquals(1, accepted, "round " + round + ": " + totals);
+                assertEquals(threads * CLAIMS_PER_THREAD - 1, refused, "round " + round + ": " + totals);
+                ClaimResult winningClaim = game.getWinningClaim();
+                assertTrue(winningClaim != null && winningClaim.isAccepted(), "round " + round + " has no winning claim");
+                assertSame(winningClaim.getPlayer(), game.getWinner());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LoteriaGame newGame(long seed) throws LoteriaException {
+        LoteriaGame game = new LoteriaGame(PLAYERS, seed);
+        game.setAutoDetectWinners(true);
+        for (int p = 0; p < PLAYERS; p++) {
+            Player player = new Player("player" + p);
+            for (int b = 0; b < BOARDS_PER_PLAYER; b++) {
+                player.addBoard(new PlayerBoard(BOARD_SIZE, player));
+            }
+            game.addPlayer(player);
+        }
+        game.startGame();
+        return game;
+    }
+
+    /**
+     * Calls cards until at least one board has completed a pattern.
+     *
+     * @return The players holding a completed pattern.
+     */
+    private static List<Player> callUntilContested(LoteriaGame game) throws LoteriaException {
+        List<Player> contenders = new ArrayList<>();
+        while (contenders.isEmpty()) {
+            game.callNextCardId();
+            for (PatternCompletion completion : game.getLastCompletions()) {
+                contenders.add(completion.getPlayer());
+            }
+        }
+        return contenders;
+    }
+}
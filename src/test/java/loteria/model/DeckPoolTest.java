@@ -0,0 +1,102 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeckPoolTest {
+
+    /**
+     * A game from a prepared deck skips the shuffles at start, but must deal the same boards and
+     * call the same cards as a game built from its seed.
+     */
+    @Test
+    void pooledGameMatchesGameFromTheSameSeed() throws Exception {
+        try (DeckPool pool = new DeckPool(4, 99L, LoteriaGame.DEFAULT_RANDOM_ALGORITHM)) {
+            awaitFull(pool);
+            for (int i = 0; i < pool.getCapacity(); i++) {
+                LoteriaGame pooled = pool.newGame(3);
+                LoteriaGame seeded = new LoteriaGame(3, pooled.getSessionSeed(), pooled.getRandomAlgorithm());
+                start(pooled);
+                start(seeded);
+
+                for (int p = 0; p < 3; p++) {
+                    List<PlayerBoard> expected = seeded.getPlayers().get(p).getBoards();
+                    List<PlayerBoard> actual = pooled.getPlayers().get(p).getBoards();
+                    for (int b = 0; b < expected.size(); b++) {
+                        assertEquals(cellsOf(expected.get(b)), cellsOf(actual.get(b)), "player " + p + " board " + b);
+                    }
+                }
+                while (seeded.remainingCards() > 0) {
+                    assertEquals(seeded.callNextCardId(), pooled.callNextCardId());
+                }
+                assertEquals(0, pooled.remainingCards());
+            }
+            assertEquals(pool.getCapacity(), pool.getHits());
+        }
+    }
+
+    /**
+     * A failing producer must not take the pool down with it: the failure is recorded, the
+     * prepared decks are still handed out, and games are then created the ordinary way.
+     */
+    @Test
+    void recordsProducerFailureAndFallsBack() throws Exception {
+        IllegalStateException boom = new IllegalStateException("boom");
+        AtomicInteger prepared = new AtomicInteger();
+        try (DeckPool pool = new DeckPool(4, 1L, LoteriaGame.DEFAULT_RANDOM_ALGORITHM, seed -> {
+            if (prepared.incrementAndGet() > 2) {
+                throw boom;
+            }
+            return LoteriaGame.prepare(seed, LoteriaGame.DEFAULT_RANDOM_ALGORITHM);
+        })) {
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (pool.getFailure() == null) {
+                assertTrue(System.nanoTime() < deadline, "the failure was not recorded in time");
+                Thread.sleep(1);
+            }
+            assertSame(boom, pool.getFailure());
+            assertTrue(pool.toString().contains("boom"), pool.toString());
+
+            for (int i = 0; i < 4; i++) {
+                assertNotNull(pool.newGame(2));
+            }
+            assertEquals(2, pool.getHits());
+            assertEquals(2, pool.getMisses());
+        }
+    }
+
+    private static void awaitFull(DeckPool pool) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (pool.getSize() < pool.getCapacity()) {
+            assertTrue(System.nanoTime() < deadline, "the pool was not filled in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void start(LoteriaGame game) throws LoteriaException {
+        for (String name : new String[] {"Ana", "Beto", "Carla"}) {
+            Player player = new Player(name);
+            player.addBoard(new PlayerBoard(4, player));
+            player.addBoard(new PlayerBoard(5, player));
+            game.addPlayer(player);
+        }
+        game.startGame();
+    }
+
+    private static String cellsOf(PlayerBoard board) {
+        StringBuilder cells = new StringBuilder();
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int col = 0; col < board.getSize(); col++) {
+                cells.append(board.getCardId(row, col)).append(' ');
+            }
+        }
+        return cells.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeckTest {
+
+    /** The full draw order of a deck seeded with 42, recorded with the list-backed deck. */
+    private static final int[] SEED_42_ORDER = {
+            24, 10, 53, 16, 32, 2, 9, 47, 11, 7, 14, 27, 30, 23, 48, 15, 3, 39, 17, 31, 43, 51, 42, 18, 38, 46, 50,
+            5, 54, 6, 26, 8, 20, 34, 35, 1, 29, 28, 36, 52, 37, 21, 45, 25, 13, 49, 12, 40, 19, 4, 44, 41, 22, 33};
+
+    /**
+     * The second game of the same deck, recorded with the list-backed deck: ten draws after
+     * the reset, then the remaining pile is shuffled again and drawn to the end.
+     */
+    private static final int[] SEED_42_SECOND_GAME = {
+            31, 29, 1, 36, 14, 28, 30, 32, 24, 10,
+            37, 50, 51, 26, 12, 20, 7, 18, 11, 54, 44, 39, 22, 45, 43, 46, 16, 49, 27, 33, 38, 8, 41, 25, 47, 17,
+            48, 3, 5, 42, 2, 6, 40, 21, 15, 23, 4, 53, 19, 13, 34, 9, 35, 52};
+
+    @Test
+    void seededDeckReplaysTheRecordedOrder() {
+        Deck deck = new Deck(new SplittableRandom(42L));
+        assertArrayEquals(SEED_42_ORDER, drawIds(deck, LoteriaCards.CARD_COUNT));
+
+        deck.reset();
+        int[] secondGame = new int[LoteriaCards.CARD_COUNT];
+        System.arraycopy(drawIds(deck, 10), 0, secondGame, 0, 10);
+        deck.shuffle();
+        System.arraycopy(drawIds(deck, LoteriaCards.CARD_COUNT - 10), 0, secondGame, 10, LoteriaCards.CARD_COUNT - 10);
+        assertArrayEquals(SEED_42_SECOND_GAME, secondGame);
+    }
+
+    @Test
+    void calledCardsIsALiveReadOnlyView() {
+        Deck deck = new Deck(new SplittableRandom(5L));
+        List<LoteriaCard> called = deck.getCalledCards();
+        assertTrue(called.isEmpty());
+
+        List<LoteriaCard> drawn = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            drawn.add(deck.drawCard());
+            assertEquals(drawn, called);
+        }
+        assertSame(called, deck.getCalledCards());
+        assertEquals(drawn.get(2).getCardNumber(), deck.getCalledCardId(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.getCalledCardId(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> called.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> called.add(drawn.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> called.remove(0));
+
+        deck.reset();
+        assertTrue(called.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.getCalledCardId(0));
+    }
+
+    @Test
+    void resetReturnsEveryCardToThePile() {
+        Deck deck = new Deck(new SplittableRandom(9L));
+        for (int game = 0; game < 3; game++) {
+            assertEquals(0, deck.getCalledCount());
+            assertEquals(LoteriaCards.CARD_COUNT, deck.getRemainingCount());
+
+            long seen = 0L;
+            for (int id : drawIds(deck, LoteriaCards.CARD_COUNT)) {
+                assertTrue(LoteriaCards.isCardId(id), "card id " + id);
+                assertEquals(0L, seen & (1L << id), "card " + id + " drawn twice");
+                seen |= 1L << id;
+            }
+            assertEquals(LoteriaCards.CARD_COUNT, Long.bitCount(seen));
+            assertFalse(deck.hasMoreCards());
+            assertEquals(0, deck.getRemainingCount());
+            assertThrows(IllegalStateException.class, deck::drawCardId);
+
+            // Reset part-way through the next game as well as at the end
+            deck.reset();
+            drawIds(deck, game + 1);
+            deck.reset();
+        }
+    }
+
+    private static int[] drawIds(Deck deck, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = deck.drawCardId();
+        }
+        return ids;
+    }
+}
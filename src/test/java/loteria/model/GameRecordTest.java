@@ -0,0 +1,104 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameRecordTest {
+
+    /** Offsets of the boardSize and patternIndex bytes, from the layout in GameRecord's doc. */
+    private static final int BOARD_SIZE_OFFSET = 18;
+    private static final int PATTERN_OFFSET = 19;
+
+    @Test
+    void roundTripsAWonGame() throws Exception {
+        LoteriaGame game = newGame(11L);
+        while (game.getLastCompletions().isEmpty()) {
+            game.callNextCardId();
+        }
+        PatternCompletion completion = game.getLastCompletions().get(0);
+        assertTrue(game.claimWin(completion.getPlayer(), completion.getPattern()).isAccepted());
+
+        GameRecord record = game.createRecord(1234L);
+        GameRecord read = writeAndRead(record);
+        assertEquals(record.getSessionSeed(), read.getSessionSeed());
+        assertEquals(record.getEndedAt(), read.getEndedAt());
+        assertEquals(1234L, read.getDurationMs());
+        assertEquals(game.getPlayers().indexOf(completion.getPlayer()), read.getWinnerIndex());
+        assertEquals(completion.getPattern().getCellMask(4), read.getWinningPattern().getCellMask(4));
+        assertEquals(completion.getPattern().getType(), read.getWinningPattern().getType());
+        assertArrayEquals(record.getCalledCardNumbers(), read.getCalledCardNumbers());
+    }
+
+    @Test
+    void fullDeckRecordFitsInUnder64Bytes() throws Exception {
+        LoteriaGame game = newGame(12L);
+        while (game.remainingCards() > 0) {
+            game.callNextCardId();
+        }
+        game.cancelGame();
+
+        GameRecord record = game.createRecord(0L);
+        assertEquals(LoteriaCards.CARD_COUNT, record.getCallCount());
+        assertEquals(GameRecord.MAX_ENCODED_SIZE, record.getEncodedSize());
+        assertTrue(record.getEncodedSize() < 64, record.getEncodedSize() + " bytes");
+
+        GameRecord read = writeAndRead(record);
+        assertEquals(-1, read.getWinnerIndex());
+        assertNull(read.getWinningPattern());
+        assertArrayEquals(record.getCalledCardNumbers(), read.getCalledCardNumbers());
+    }
+
+    @Test
+    void rejectsOutOfRangeBoardSizeAndPatternIndex() throws Exception {
+        LoteriaGame game = newGame(13L);
+        game.callNextCardId();
+        game.cancelGame();
+        GameRecord record = game.createRecord(0L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(record.getEncodedSize());
+        record.write(buffer);
+        buffer.put(BOARD_SIZE_OFFSET, (byte) (PlayerBoard.MAX_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.read(buffer.rewind()));
+
+        buffer.put(BOARD_SIZE_OFFSET, (byte) 4);
+        buffer.put(PATTERN_OFFSET, (byte) StandardPatterns.getAllStandardPatterns(4).size());
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.read(buffer.rewind()));
+
+        buffer.put(PATTERN_OFFSET, (byte) -2);
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.read(buffer.rewind()));
+
+        buffer.put(PATTERN_OFFSET, (byte) 0);
+        assertEquals(StandardPatterns.getAllStandardPatterns(4).get(0).getName(),
+                GameRecord.read(buffer.rewind()).getWinningPattern().getName());
+    }
+
+    private static GameRecord writeAndRead(GameRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameRecord.MAX_ENCODED_SIZE + 3);
+        buffer.position(3);
+        record.write(buffer);
+        assertEquals(3 + record.getEncodedSize(), buffer.position());
+        buffer.position(3);
+        GameRecord read = GameRecord.read(buffer);
+        assertEquals(3 + record.getEncodedSize(), buffer.position());
+        return read;
+    }
+
+    private static LoteriaGame newGame(long seed) throws LoteriaException {
+        LoteriaGame game = new LoteriaGame(4, seed);
+        game.setAutoDetectWinners(true);
+        for (String name : new String[] {"Ana", "Beto", "Carla"}) {
+            Player player = new Player(name);
+            player.addBoard(new PlayerBoard(4, player));
+            game.addPlayer(player);
+        }
+        game.startGame();
+        return game;
+    }
+}
@@ -0,0 +1,101 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerBoardTest {
+
+    /**
+     * The list and mask forms of checkPattern must agree with each other, and with a direct
+     * look-up of every required cell, as the calls of a whole game accumulate.
+     */
+    @Test
+    void checkPatternAgreesForListsAndMasks() throws Exception {
+        for (int size = 1; size <= PlayerBoard.MAX_SIZE; size++) {
+            Random random = new Random(size);
+            PlayerBoard board = new PlayerBoard(size, new Player("Ana"));
+            board.generateBoard(new Deck(), random);
+            List<WinningPattern> patterns = StandardPatterns.getAllStandardPatterns(size);
+
+            List<LoteriaCard> callOrder = new ArrayList<>(LoteriaCards.getAllCards());
+            Collections.shuffle(callOrder, random);
+            for (int called = 0; called <= callOrder.size(); called++) {
+                List<LoteriaCard> calledCards = callOrder.subList(0, called);
+                long calledCardMask = PlayerBoard.toCardMask(calledCards);
+                for (WinningPattern pattern : patterns) {
+                    boolean expected = isComplete(board, pattern, calledCards);
+                    String context = size + "x" + size + " " + pattern.getName() + " after " + called + " calls";
+                    assertEquals(expected, board.checkPattern(pattern, calledCards), context);
+                    assertEquals(expected, board.checkPattern(pattern, calledCardMask), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void ignoresCardsNotOnTheBoard() throws Exception {
+        PlayerBoard board = new PlayerBoard(4, new Player("Ana"));
+        board.generateBoard(new Deck(), new Random(7));
+        int onBoard = board.getCardId(1, 2);
+        assertTrue(board.markCardId(onBoard));
+
+        int[] outside = {Integer.MIN_VALUE, -1, 0, LoteriaCards.CARD_COUNT + 1, Long.SIZE - 1, Long.SIZE, 100, Integer.MAX_VALUE};
+        List<Integer> absent = new ArrayList<>();
+        for (int id : outside) {
+            absent.add(id);
+        }
+        for (int id = 1; id <= LoteriaCards.CARD_COUNT; id++) {
+            if ((board.getCardMask() & (1L << id)) == 0) {
+                absent.add(id);
+            }
+        }
+        assertEquals(LoteriaCards.CARD_COUNT - 16 + outside.length, absent.size());
+
+        for (int id : absent) {
+            assertFalse(board.hasCardId(id), "hasCardId(" + id + ")");
+            assertFalse(board.markCardId(id), "markCardId(" + id + ")");
+            assertFalse(board.unmarkCardId(id), "unmarkCardId(" + id + ")");
+        }
+        assertEquals(1, board.getMarkedCount());
+        assertTrue(board.isMarked(1, 2));
+
+        assertTrue(board.hasCardId(onBoard));
+        assertTrue(board.unmarkCardId(onBoard));
+        assertEquals(0L, board.getMarkerMask());
+    }
+
+    @Test
+    void placesOnlyCardsOfTheDeck() {
+        PlayerBoard board = new PlayerBoard(2, new Player("Ana"));
+        for (int id : new int[] {-1, 0, LoteriaCards.CARD_COUNT + 1, Long.SIZE - 1, Long.SIZE}) {
+            assertThrows(IllegalArgumentException.class, () -> board.placeCardId(0, id), "card id " + id);
+        }
+        assertEquals(0L, board.getCardMask());
+
+        board.placeCardId(0, 1);
+        board.placeCardId(3, LoteriaCards.CARD_COUNT);
+        assertTrue(board.hasCardId(1));
+        assertTrue(board.hasCardId(LoteriaCards.CARD_COUNT));
+    }
+
+    private static boolean isComplete(PlayerBoard board, WinningPattern pattern, List<LoteriaCard> calledCards) {
+        if (!pattern.isValidForBoardSize(board.getSize())) {
+            return false;
+        }
+        for (Position position : pattern.getRequiredPositions()) {
+            if (!calledCards.contains(board.getCard(position.getRow(), position.getCol()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
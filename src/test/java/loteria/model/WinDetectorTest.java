@@ -0,0 +1,105 @@
+package loteria.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WinDetectorTest {
+
+    /** Ana's board: cards 1..9, row-major. */
+    private static final int[] ANA_CARDS = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+    /** Beto's board shares Ana's anti-diagonal (3, 5, 7), laid out the other way round. */
+    private static final int[] BETO_CARDS = {10, 11, 7, 12, 5, 13, 3, 14, 15};
+
+    private final Player ana = new Player("Ana");
+    private final Player beto = new Player("Beto");
+
+    @Test
+    void reportsExactCompletionsOnTheCompletingCall() {
+        CardIndex index = newIndex();
+        WinDetector detector = new WinDetector(index);
+
+        assertEquals(List.of(), call(index, detector, 1, 1));
+        assertEquals(List.of(), call(index, detector, 2, 2));
+        assertEquals(List.of(describe(ana, StandardPatterns.createHorizontalLine(3, 0), 3)),
+                call(index, detector, 3, 3));
+        assertEquals(List.of(), call(index, detector, 5, 4));
+        assertEquals(List.of(describe(ana, StandardPatterns.createDiagonalLine(3, true), 5)),
+                call(index, detector, 9, 5));
+        assertEquals(List.of(
+                        describe(ana, StandardPatterns.createDiagonalLine(3, false), 6),
+                        describe(ana, StandardPatterns.createFourCorners(3), 6),
+                        describe(beto, StandardPatterns.createDiagonalLine(3, false), 6)),
+                call(index, detector, 7, 6));
+        assertEquals(List.of(describe(ana, StandardPatterns.createVerticalLine(3, 0), 7)),
+                call(index, detector, 4, 7));
+        // Cards on no board complete nothing
+        assertEquals(List.of(), call(index, detector, 40, 8));
+    }
+
+    @Test
+    void startsCleanAfterResetForAnotherGame() {
+        CardIndex index = newIndex();
+        WinDetector detector = new WinDetector(index);
+        for (int call = 1; call <= ANA_CARDS.length; call++) {
+            call(index, detector, ANA_CARDS[call - 1], call);
+        }
+
+        // Next game on the same boards: clear the marks, then follow a different call order
+        for (PlayerBoard board : List.of(ana.getBoards().get(0), beto.getBoards().get(0))) {
+            for (int cardId = 1; cardId <= LoteriaCards.CARD_COUNT; cardId++) {
+                board.unmarkCardId(cardId);
+            }
+        }
+        detector.reset();
+        WinDetector fresh = new WinDetector(index);
+
+        int[] order = {7, 10, 5, 3, 11, 14, 13, 12, 15, 9, 1};
+        for (int call = 1; call <= order.length; call++) {
+            index.markAll(order[call - 1]);
+            assertEquals(describe(fresh.onCardCalled(order[call - 1], call)),
+                    describe(detector.onCardCalled(order[call - 1], call)), "call " + call);
+        }
+    }
+
+    private CardIndex newIndex() {
+        ana.addBoard(newBoard(ana, ANA_CARDS));
+        beto.addBoard(newBoard(beto, BETO_CARDS));
+        return CardIndex.build(List.of(ana, beto));
+    }
+
+    private static PlayerBoard newBoard(Player owner, int[] cardIds) {
+        PlayerBoard board = new PlayerBoard(3, owner);
+        for (int cell = 0; cell < cardIds.length; cell++) {
+            board.placeCardId(cell, cardIds[cell]);
+        }
+        return board;
+    }
+
+    private static List<String> call(CardIndex index, WinDetector detector, int cardId, int callNumber) {
+        index.markAll(cardId);
+        return describe(detector.onCardCalled(cardId, callNumber));
+    }
+
+    /**
+     * @return The completions, described and sorted.
+     */
+    private static List<String> describe(List<PatternCompletion> completions) {
+        List<String> described = new ArrayList<>();
+        for (PatternCompletion completion : completions) {
+            described.add(describe(completion.getPlayer(), completion.getPattern(), completion.getCallNumber()));
+        }
+        described.sort(null);
+        return described;
+    }
+
+    /**
+     * Describes a completion by owner, pattern name and cells, since line patterns share a name.
+     */
+    private static String describe(Player player, WinningPattern pattern, int callNumber) {
+        return player.getName() + " " + pattern.getName() + " 0x" + Long.toHexString(pattern.getCellMask(3)) + " @" + callNumber;
+    }
+}
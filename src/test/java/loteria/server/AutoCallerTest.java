@@ -0,0 +1,88 @@
+package loteria.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoCallerTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong now = new AtomicLong(5_000_000_000L);
+    private final TimerWheel wheel = TimerWheel.manual(TICK, 16, now::get);
+    private final CallJitter jitter = new CallJitter();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void callsOncePerInterval() {
+        AutoCaller caller = new AutoCaller(Runnable::run, wheel, jitter, () -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        caller.start(INTERVAL);
+
+        advanceMillis(5);
+        assertEquals(0, calls.get());
+        advanceMillis(100); // Ten intervals, plus the tick the wheel takes to notice the last one
+        assertEquals(10, calls.get());
+        assertEquals(10, jitter.getCount());
+        assertTrue(jitter.getMaxNanos() <= TICK, "calls ran " + jitter.getMaxNanos() + "ns late");
+    }
+
+    @Test
+    void makesNoCallsWhilePaused() {
+        AutoCaller caller = new AutoCaller(Runnable::run, wheel, jitter, () -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        caller.start(INTERVAL);
+        advanceMillis(34); // Calls at 10, 20 and 30 ms; the next one is 6 ms away
+        assertEquals(3, calls.get());
+
+        caller.pause();
+        advanceMillis(500);
+        assertEquals(3, calls.get());
+
+        caller.resume();
+        advanceMillis(5);
+        assertEquals(3, calls.get());
+        advanceMillis(2); // The 6 ms left at pause time have passed
+        assertEquals(4, calls.get());
+        advanceMillis(10);
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void stopsWhenTheCallSaysSo() {
+        AutoCaller caller = new AutoCaller(Runnable::run, wheel, jitter, () -> calls.incrementAndGet() < 3);
+        caller.start(INTERVAL);
+        advanceMillis(200);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void stopCancelsThePendingCall() {
+        AutoCaller caller = new AutoCaller(Runnable::run, wheel, jitter, () -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        caller.start(INTERVAL);
+        advanceMillis(15);
+        caller.stop();
+        advanceMillis(100);
+        assertEquals(1, calls.get());
+    }
+
+    private void advanceMillis(int millis) {
+        for (int i = 0; i < millis; i++) {
+            now.addAndGet(TICK);
+            wheel.advance();
+        }
+    }
+}
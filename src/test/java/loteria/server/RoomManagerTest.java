@@ -0,0 +1,34 @@
+package loteria.server;
+
+import loteria.model.DeckPool;
+import loteria.model.LoteriaException;
+import loteria.model.LoteriaGame;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoomManagerTest {
+
+    /**
+     * A refused room must not take a deck: a full manager would otherwise drain the pool.
+     */
+    @Test
+    void refusedRoomsDoNotTakeFromThePool() throws Exception {
+        try (TimerWheel timerWheel = new TimerWheel();
+             DeckPool pool = new DeckPool(8, 5L, LoteriaGame.DEFAULT_RANDOM_ALGORITHM)) {
+            RoomManager manager = new RoomManager(2, Runnable::run, timerWheel, pool);
+            assertSame(pool, manager.getDeckPool());
+
+            manager.createRoom("a", 4);
+            assertThrows(LoteriaException.class, () -> manager.createRoom("a", 4));
+            manager.createRoom("b", 4);
+            assertThrows(LoteriaException.class, () -> manager.createRoom("c", 4));
+
+            assertEquals(2, manager.getRoomCount());
+            assertEquals(2, pool.getHits() + pool.getMisses());
+            manager.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package loteria.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerialExecutorTest {
+
+    private static final int TASKS = 10_000;
+
+    @Test
+    void runsTasksOneAtATimeInSubmissionOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Throwable> failures = new ArrayList<>();
+            SerialExecutor lane = new SerialExecutor(pool, (thread, failure) -> failures.add(failure));
+            List<Integer> order = new ArrayList<>();
+            AtomicInteger running = new AtomicInteger();
+            AtomicBoolean overlapped = new AtomicBoolean();
+            CountDownLatch done = new CountDownLatch(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                int task = i;
+                lane.execute(() -> {
+                    if (running.incrementAndGet() != 1) {
+                        overlapped.set(true);
+                    }
+                    order.add(task);
+                    running.decrementAndGet();
+                    done.countDown();
+                    if (task % 1000 == 0) {
+                        throw new IllegalStateException("task " + task);
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertFalse(overlapped.get(), "two tasks of the lane ran at once");
+            for (int i = 0; i < TASKS; i++) {
+                assertEquals(i, (int) order.get(i));
+            }
+            // Failing tasks are reported and the lane carries on
+            assertEquals(TASKS / 1000, failures.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * A rejected lane must not stay marked as scheduled: later tasks, and the rejected one,
+     * still run once the backing executor accepts the lane again.
+     */
+    @Test
+    void recoversFromARejectedSchedule() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        SerialExecutor lane = new SerialExecutor(command -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("busy");
+            }
+            command.run();
+        });
+        List<String> ran = new ArrayList<>();
+
+        assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> ran.add("first")));
+        assertEquals(List.of(), ran);
+
+        reject.set(false);
+        lane.execute(() -> ran.add("second"));
+        assertEquals(List.of("first", "second"), ran);
+    }
+}
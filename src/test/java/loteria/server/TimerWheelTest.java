@@ -0,0 +1,87 @@
+package loteria.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void expiresEachTimeoutExactlyOnceAfterItsDeadline() {
+        TimerWheel wheel = TimerWheel.manual(TICK, 8, now::get);
+        AtomicInteger runs = new AtomicInteger();
+        // Longer than one turn of the wheel, so the timeout waits out whole rounds
+        TimerWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        advanceMillis(wheel, 19);
+        assertEquals(0, runs.get());
+        advanceMillis(wheel, 2);
+        assertEquals(1, runs.get());
+        advanceMillis(wheel, 50);
+        assertEquals(1, runs.get());
+        assertFalse(timeout.cancel(), "an expired timeout cannot be cancelled");
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() {
+        TimerWheel wheel = TimerWheel.manual(TICK, 8, now::get);
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 5, TimeUnit.MILLISECONDS);
+        advanceMillis(wheel, 2);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        advanceMillis(wheel, 20);
+        assertEquals(0, runs.get());
+    }
+
+    /**
+     * Cancelling from another thread while the wheel expires must leave every timeout either
+     * run or cancelled, never both and never neither.
+     */
+    @Test
+    void cancelRacingExpiryResolvesEachTimeoutOnce() throws Exception {
+        TimerWheel wheel = TimerWheel.manual(TICK, 64, now::get);
+        int count = 20_000;
+        AtomicInteger[] runs = new AtomicInteger[count];
+        List<TimerWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AtomicInteger run = new AtomicInteger();
+            runs[i] = run;
+            timeouts.add(wheel.schedule(run::incrementAndGet, i % 100, TimeUnit.MILLISECONDS));
+        }
+        boolean[] cancelled = new boolean[count];
+        Thread canceller = new Thread(() -> {
+            for (int i = count - 1; i >= 0; i--) {
+                cancelled[i] = timeouts.get(i).cancel();
+            }
+        });
+        canceller.start();
+        advanceMillis(wheel, 200);
+        canceller.join();
+        advanceMillis(wheel, 200);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, runs[i].get() + (cancelled[i] ? 1 : 0), "timeout " + i);
+        }
+    }
+
+    private void advanceMillis(TimerWheel wheel, int millis) {
+        for (int i = 0; i < millis; i++) {
+            now.addAndGet(TICK);
+            wheel.advance();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package loteria.simulation;
+
+import loteria.model.GameStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchSimulatorTest {
+
+    private static final int GAMES = 600;
+
+    /**
+     * Each game is seeded from the batch seed and its index alone, so only the order of the
+     * lines (and the timing column) may depend on the number of threads.
+     */
+    @Test
+    void sameSeedGivesSameGamesOnAnyThreadCount() throws IOException {
+        BatchSimulator simulator = new BatchSimulator(6, 2, 4);
+        List<String> single = run(simulator, 1, BatchSimulator.Format.CSV);
+        assertEquals(GAMES + 1, single.size());
+        assertEquals("game,seed,winner,board,pattern,type,calls,completions", single.get(0));
+        for (int threads : new int[] {2, 4, 8}) {
+            assertEquals(single, run(simulator, threads, BatchSimulator.Format.CSV), threads + " threads");
+        }
+        assertEquals(run(simulator, 1, BatchSimulator.Format.JSON), run(simulator, 4, BatchSimulator.Format.JSON));
+    }
+
+    @Test
+    void countsEveryGame() throws IOException {
+        GameStatistics statistics = new BatchSimulator(4, 1, 4)
+                .run(GAMES, 3, 17L, BatchSimulator.Format.JSON, new StringWriter());
+        assertEquals(GAMES, statistics.getTotalGames());
+    }
+
+    @Test
+    void rejectsBadParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(0, 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(4, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(4, 1, 8));
+        BatchSimulator simulator = new BatchSimulator(4, 1, 4);
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.run(0, 1, 1L, BatchSimulator.Format.CSV, new StringWriter()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.run(1, 0, 1L, BatchSimulator.Format.CSV, new StringWriter()));
+    }
+
+    /**
+     * @return The lines of a batch seeded with 42, without their micros column, sorted by game.
+     */
+    private static List<String> run(BatchSimulator simulator, int threads, BatchSimulator.Format format)
+            throws IOException {
+        StringWriter out = new StringWriter();
+        simulator.run(GAMES, threads, 42L, format, out);
+        List<String> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            int micros = format == BatchSimulator.Format.CSV ? line.lastIndexOf(',') : line.lastIndexOf(",\"micros\":");
+            lines.add(line.substring(0, micros));
+        }
+        List<String> games = lines.subList(format == BatchSimulator.Format.CSV ? 1 : 0, lines.size());
+        games.sort((a, b) -> Long.compare(gameIndex(a), gameIndex(b)));
+        return lines;
+    }
+
+    private static long gameIndex(String line) {
+        String digits = line.startsWith("{\"game\":") ? line.substring(8) : line;
+        int end = 0;
+        while (end < digits.length() && Character.isDigit(digits.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(digits.substring(0, end));
+    }
+}
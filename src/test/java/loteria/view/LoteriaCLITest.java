@@ -0,0 +1,109 @@
+package loteria.view;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoteriaCLITest {
+
+    private final ByteArrayOutputStream stdoutBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderrBytes = new ByteArrayOutputStream();
+    private final PrintStream stdout = new PrintStream(stdoutBytes, true, StandardCharsets.UTF_8);
+    private final PrintStream stderr = new PrintStream(stderrBytes, true, StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void streamsOneLinePerGameAndLeavesStdoutOpen() {
+        int exitCode = LoteriaCLI.runBatch(new String[] {"--simulate", "--games", "5", "--players", "3", "--boards", "2",
+                "--size", "3", "--threads", "2", "--seed", "11", "--format", "json"}, stdout, stderr);
+        assertEquals(0, exitCode, stderr());
+
+        List<String> lines = stdout().lines().toList();
+        assertEquals(5, lines.size());
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"game\":") && line.endsWith("}"), line);
+        }
+        assertTrue(stderr().startsWith("Simulated 5 games (3 players x 2 boards, 3x3) on 2 threads with seed 11"), stderr());
+
+        // The batch must flush stdout, not close it: the stream still takes output afterwards
+        stdout.print("after");
+        assertFalse(stdout.checkError());
+        assertTrue(stdout().endsWith("}\nafter"));
+    }
+
+    @Test
+    void writesCsvToTheOutputFile() throws IOException {
+        Path file = directory.resolve("games.csv");
+        int exitCode = LoteriaCLI.runBatch(new String[] {"--simulate", "--games", "4", "--threads", "1",
+                "--seed", "3", "--output", file.toString()}, stdout, stderr);
+        assertEquals(0, exitCode, stderr());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertEquals("game,seed,winner,board,pattern,type,calls,completions,micros", lines.get(0));
+        assertEquals("", stdout());
+    }
+
+    @Test
+    void rejectsBadArgumentsWithExitCode2() {
+        String[][] badArguments = {
+                {"--simulate", "--frames", "3"},
+                {"--simulate", "--games"},
+                {"--simulate", "--games", "many"},
+                {"--simulate", "--games", "0"},
+                {"--simulate", "--threads", "-1"},
+                {"--simulate", "--format", "xml"},
+                {"--simulate", "--players", "0"},
+                {"--simulate", "--boards", "0"},
+                {"--simulate", "--size", "8"},
+        };
+        for (String[] args : badArguments) {
+            stderrBytes.reset();
+            assertEquals(2, LoteriaCLI.runBatch(args, stdout, stderr), String.join(" ", args));
+            assertTrue(stderr().startsWith("Error: "), stderr());
+            assertTrue(stderr().contains("Usage: --simulate"), stderr());
+        }
+        assertEquals("", stdout());
+    }
+
+    @Test
+    void reportsWriteFailuresWithExitCode1() {
+        PrintStream brokenStdout = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+        assertEquals(1, LoteriaCLI.runBatch(new String[] {"--simulate", "--games", "3", "--threads", "1"},
+                brokenStdout, stderr));
+        assertTrue(stderr().startsWith("Error: could not write results: "), stderr());
+
+        stderrBytes.reset();
+        Path missing = directory.resolve("missing").resolve("games.csv");
+        assertEquals(1, LoteriaCLI.runBatch(new String[] {"--simulate", "--games", "3", "--threads", "1",
+                "--output", missing.toString()}, stdout, stderr));
+        assertTrue(stderr().startsWith("Error: could not write results: "), stderr());
+    }
+
+    private String stdout() {
+        return stdoutBytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private String stderr() {
+        return stderrBytes.toString(StandardCharsets.UTF_8);
+    }
+}